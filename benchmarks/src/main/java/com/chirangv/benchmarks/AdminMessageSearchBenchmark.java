@@ -0,0 +1,112 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.pages.AdminDashboardPage;
+import com.chirangv.pages.MessageMatch;
+import com.chirangv.wait.SleepGuard;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message search on the admin dashboard as the inbox grows.
+ *
+ * The dashboard is the stand-in admin template filled with generated rows and loaded with
+ * setContent, so the DOM size is the only variable. The searched message is the oldest one,
+ * at the bottom of the list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AdminMessageSearchBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int messages;
+
+    private BrowserContext context;
+    private AdminDashboardPage dashboard;
+
+    @Setup(Level.Trial)
+    public void open(BrowserState browser) {
+        context = browser.newContext();
+        Page page = browser.newPage(context);
+        page.setContent(renderDashboard(messages));
+        dashboard = new AdminDashboardPage(SleepGuard.guard(page));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean messageVisible() {
+        return dashboard.isMessageVisible("benchmark message 0 ");
+    }
+
+    @Benchmark
+    public boolean messageMissing() {
+        return dashboard.isMessageVisible("no such message");
+    }
+
+    @Benchmark
+    public boolean messageFromUserVisible() {
+        return dashboard.isMessageFromUserVisible("Sender 0", "benchmark message 0 ");
+    }
+
+    @Benchmark
+    public List<MessageMatch> findMessages() {
+        return dashboard.findMessages("sender 0", "message 0 ");
+    }
+
+    @Benchmark
+    public int messageCount() {
+        return dashboard.getMessageCount();
+    }
+
+    private static String renderDashboard(int count) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = count - 1; i >= 0; i--) {
+            rows.append("<li class=\"message-item\" data-testid=\"message-item\">")
+                    .append("<strong>Sender ").append(i).append("</strong> ")
+                    .append("<span>sender").append(i).append("@example.test</span>")
+                    .append("<p>This is benchmark message ").append(i)
+                    .append(" sent through the contact form.</p></li>\n");
+        }
+        return readTemplate("standin/admin.html")
+                .replace("{{user}}", "Benchmark Admin")
+                .replace("{{messages}}", rows);
+    }
+
+    private static String readTemplate(String name) {
+        try (InputStream input = AdminMessageSearchBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IllegalStateException("Stand-in template not found on the classpath: " + name);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read stand-in template: " + name, e);
+        }
+    }
+}
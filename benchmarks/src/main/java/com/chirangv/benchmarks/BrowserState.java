@@ -0,0 +1,59 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.browser.BrowserFactory;
+import com.chirangv.utils.ConfigReader;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A browser per benchmark thread, launched once per trial.
+ *
+ * Playwright objects are not thread-safe, so each JMH thread gets its own Playwright
+ * instance, the same way BrowserPool hands a browser to one test thread at a time.
+ * Page metrics are switched off so they do not add to what is measured.
+ */
+@State(Scope.Thread)
+public class BrowserState {
+    Playwright playwright;
+    Browser browser;
+
+    @Setup(Level.Trial)
+    public void launch() {
+        ConfigReader.overrideProperty("perf.metrics", "false");
+        playwright = Playwright.create();
+        browser = BrowserFactory.launch(playwright, ConfigReader.getBrowser());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (browser != null) {
+            browser.close();
+        }
+        if (playwright != null) {
+            playwright.close();
+        }
+    }
+
+    /**
+     * Open a context and page with the options BaseTest uses for a live test
+     */
+    BrowserContext newContext() {
+        return browser.newContext(new Browser.NewContextOptions()
+                .setViewportSize(
+                        Integer.parseInt(ConfigReader.getProperty("viewport.width")),
+                        Integer.parseInt(ConfigReader.getProperty("viewport.height"))));
+    }
+
+    Page newPage(BrowserContext context) {
+        Page page = context.newPage();
+        page.setDefaultTimeout(ConfigReader.getTimeout());
+        return page;
+    }
+}
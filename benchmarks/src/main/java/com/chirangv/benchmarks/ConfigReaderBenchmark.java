@@ -0,0 +1,77 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.utils.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigReader lookups through each level of its precedence: runtime override, system
+ * property, config.properties and the caller's default. Run with four threads, as the
+ * parallel suite does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConfigReaderBenchmark {
+    private static final String OVERRIDDEN_KEY = "benchmark.overridden";
+    private static final String SYSTEM_KEY = "benchmark.system";
+
+    @Setup(Level.Trial)
+    public void configure() {
+        ConfigReader.overrideProperty(OVERRIDDEN_KEY, "override");
+        System.setProperty(SYSTEM_KEY, "system");
+    }
+
+    @TearDown(Level.Trial)
+    public void restore() {
+        ConfigReader.overrideProperty(OVERRIDDEN_KEY, null);
+        System.clearProperty(SYSTEM_KEY);
+    }
+
+    @Benchmark
+    public String overriddenProperty() {
+        return ConfigReader.getProperty(OVERRIDDEN_KEY);
+    }
+
+    @Benchmark
+    public String systemProperty() {
+        return ConfigReader.getProperty(SYSTEM_KEY);
+    }
+
+    @Benchmark
+    public String fileProperty() {
+        return ConfigReader.getBaseUrl();
+    }
+
+    @Benchmark
+    public String missingPropertyWithDefault() {
+        return ConfigReader.getProperty("benchmark.missing", "default");
+    }
+
+    @Benchmark
+    public int intProperty() {
+        return ConfigReader.getTimeout();
+    }
+
+    @Benchmark
+    public boolean booleanProperty() {
+        return ConfigReader.getBooleanProperty("perf.metrics", true);
+    }
+}
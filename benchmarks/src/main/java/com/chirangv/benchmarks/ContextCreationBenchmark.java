@@ -0,0 +1,46 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.pages.DeveloperPage;
+import com.chirangv.wait.SleepGuard;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-test browser setup BaseTest performs: a fresh context and page, and the
+ * first navigation of a page object on top of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ContextCreationBenchmark {
+
+    @Benchmark
+    public void contextAndPage(BrowserState browser) {
+        BrowserContext context = browser.newContext();
+        Page page = browser.newPage(context);
+        page.close();
+        context.close();
+    }
+
+    @Benchmark
+    public boolean contextPageAndFirstNavigation(BrowserState browser, StandInSite site) {
+        BrowserContext context = browser.newContext();
+        try {
+            Page page = SleepGuard.guard(browser.newPage(context));
+            return new DeveloperPage(page).navigateToDeveloper(site.getBaseUrl()).isDeveloperPageDisplayed();
+        } finally {
+            context.close();
+        }
+    }
+}
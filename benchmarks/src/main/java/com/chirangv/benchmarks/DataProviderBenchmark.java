@@ -0,0 +1,122 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.data.TestDataRepository;
+import com.chirangv.data.TestUser;
+import com.chirangv.data.UserStream;
+import com.chirangv.data.UserStreams;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data lookups and data-provider row production.
+ *
+ * The file-backed streams parse the same generated users from memory, so the results
+ * compare the formats without disk I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataProviderBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000"})
+    public int rows;
+
+    private TestDataRepository repository;
+    private String json;
+    private String ndjson;
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        repository = TestDataRepository.getInstance();
+
+        List<TestUser> users = new ArrayList<>();
+        try (UserStream stream = UserStreams.synthetic(SEED, rows)) {
+            stream.forEachRemaining(users::add);
+        }
+        List<String> columns = new ArrayList<>(users.get(0).getAttributes().keySet());
+
+        Gson gson = new Gson();
+        StringBuilder ndjsonText = new StringBuilder();
+        StringBuilder csvText = new StringBuilder(String.join(",", columns)).append('\n');
+        List<Object> attributes = new ArrayList<>();
+        for (TestUser user : users) {
+            ndjsonText.append(gson.toJson(user.getAttributes())).append('\n');
+            List<String> values = new ArrayList<>();
+            for (String column : columns) {
+                values.add('"' + user.get(column).replace("\"", "\"\"") + '"');
+            }
+            csvText.append(String.join(",", values)).append('\n');
+            attributes.add(user.getAttributes());
+        }
+        json = gson.toJson(attributes);
+        ndjson = ndjsonText.toString();
+        csv = csvText.toString();
+    }
+
+    @Benchmark
+    public TestUser userByUsername() {
+        return repository.getUser("johndoe");
+    }
+
+    @Benchmark
+    public TestUser userByType() {
+        return repository.getUserOfType("adminUser");
+    }
+
+    @Benchmark
+    public List<TestUser> usersByField() {
+        return repository.findUsers("name", "John Doe");
+    }
+
+    @Benchmark
+    public void syntheticRows(Blackhole blackhole) {
+        drain(UserStreams.synthetic(SEED, rows), blackhole);
+    }
+
+    @Benchmark
+    public void jsonRows(Blackhole blackhole) {
+        drain(UserStreams.json(new StringReader(json)), blackhole);
+    }
+
+    @Benchmark
+    public void ndjsonRows(Blackhole blackhole) {
+        drain(UserStreams.ndjson(new StringReader(ndjson)), blackhole);
+    }
+
+    @Benchmark
+    public void csvRows(Blackhole blackhole) {
+        drain(UserStreams.csv(new StringReader(csv)), blackhole);
+    }
+
+    private static void drain(UserStream stream, Blackhole blackhole) {
+        try (UserStream users = stream) {
+            Iterator<Object[]> provider = UserStreams.asRows(users);
+            while (provider.hasNext()) {
+                blackhole.consume(provider.next());
+            }
+        }
+    }
+}
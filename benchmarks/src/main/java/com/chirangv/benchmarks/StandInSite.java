@@ -0,0 +1,34 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.server.StandInBackend;
+import com.chirangv.server.StandInServer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The stand-in site on a free local port, shared by all benchmark threads.
+ *
+ * No accounts are seeded and no faults are injected unless config.properties asks for
+ * them, so page loads measure the framework and the browser rather than the network.
+ */
+@State(Scope.Benchmark)
+public class StandInSite {
+    StandInServer server;
+
+    @Setup(Level.Trial)
+    public void start() {
+        server = new StandInServer(new StandInBackend(), 0, 4).start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        server.stop();
+    }
+
+    String getBaseUrl() {
+        return server.getBaseUrl();
+    }
+}
@@ -0,0 +1,88 @@
+package com.chirangv.benchmarks;
+
+import com.chirangv.pages.DeveloperPage;
+import com.chirangv.pages.ProbeResult;
+import com.chirangv.wait.SleepGuard;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of the BasePage visibility checks against the stand-in developer page,
+ * for selectors that match and ones that do not, next to the batched probe and a locator
+ * built on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VisibilityCheckBenchmark {
+    private BrowserContext context;
+    private Page page;
+    private DeveloperPage developerPage;
+
+    @Setup(Level.Trial)
+    public void open(BrowserState browser, StandInSite site) {
+        context = browser.newContext();
+        page = browser.newPage(context);
+        developerPage = new DeveloperPage(SleepGuard.guard(page)).navigateToDeveloper(site.getBaseUrl());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean elementVisible() {
+        return developerPage.isElementVisible("h1:has-text('Developer Portfolio')");
+    }
+
+    @Benchmark
+    public boolean elementVisibleFreshLocator() {
+        return page.locator("h1:has-text('Developer Portfolio')").isVisible();
+    }
+
+    @Benchmark
+    public boolean elementMissing() {
+        return developerPage.isElementVisible("[data-testid='not-on-this-page']");
+    }
+
+    @Benchmark
+    public boolean textPresent() {
+        return developerPage.isTextPresent("Technical Expertise");
+    }
+
+    @Benchmark
+    public boolean textMissing() {
+        return developerPage.isTextPresent("Not on this page");
+    }
+
+    @Benchmark
+    public boolean fourTextChecks() {
+        return developerPage.isFullStackDevMentioned()
+                & developerPage.isAIChatbotMentioned()
+                & developerPage.isDatabaseDesignMentioned()
+                & developerPage.isAPIDevMentioned();
+    }
+
+    @Benchmark
+    public ProbeResult fourTextChecksProbed() {
+        return developerPage.probeExpertiseAreas();
+    }
+}
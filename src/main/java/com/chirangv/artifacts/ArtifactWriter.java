@@ -0,0 +1,187 @@
+package com.chirangv.artifacts;
+
+import com.chirangv.utils.ConfigReader;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes screenshots, files and Allure attachments on a small background pool.
+ *
+ * The test thread only captures the bytes and registers the attachment with the current
+ * Allure test (which is thread-bound); writing the content happens on a worker. The work
+ * queue is bounded: when it is full the test thread writes the artifact itself, so a slow
+ * disk slows tests down instead of exhausting memory. {@link #flush()} blocks until every
+ * queued artifact is on disk and runs automatically at JVM shutdown.
+ *
+ * Configuration (config.properties):
+ * - artifacts.writerThreads: worker threads (default 2)
+ * - artifacts.queueSize: artifacts that may wait for a worker (default 64)
+ */
+public class ArtifactWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private static final ArtifactWriter instance = new ArtifactWriter(
+            ConfigReader.getIntProperty("artifacts.writerThreads", 2),
+            ConfigReader.getIntProperty("artifacts.queueSize", 64));
+
+    private final ThreadPoolExecutor executor;
+    private final Queue<CompletableFuture<Void>> pending = new ConcurrentLinkedQueue<>();
+    private final Map<Path, Object> appendLocks = new ConcurrentHashMap<>();
+
+    public ArtifactWriter(int threads, int queueSize) {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "artifact-writer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Back-pressure: run on the submitting thread when the queue is full
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "artifact-writer-flush"));
+    }
+
+    public static ArtifactWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Attach bytes to the current Allure test
+     */
+    public CompletableFuture<Void> attach(String name, String type, String extension, byte[] content) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        return submit(() -> lifecycle.writeAttachment(source, new ByteArrayInputStream(content)));
+    }
+
+    /**
+     * Attach plain text to the current Allure test
+     */
+    public CompletableFuture<Void> attachText(String name, String content) {
+        return attach(name, "text/plain", "txt", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Attach a file to the current Allure test, reading it on a worker thread
+     */
+    public CompletableFuture<Void> attachFile(String name, String type, String extension, Path file) {
+        return attachFile(name, type, extension, file, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Attach a file to the current Allure test once it is complete, e.g. a video whose
+     * context is still being closed; the attachment is registered now, while the test is
+     * current, and the file is read on a worker thread after {@code ready} completes
+     */
+    public CompletableFuture<Void> attachFile(String name, String type, String extension, Path file,
+                                              CompletionStage<?> ready) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        CompletableFuture<Void> attached = ready.handle((ignored, error) -> null)
+                .thenCompose(ignored -> submit(() -> {
+                    try (InputStream stream = Files.newInputStream(file)) {
+                        lifecycle.writeAttachment(source, stream);
+                    } catch (IOException e) {
+                        logger.warn("Failed to attach " + file + ": " + e.getMessage());
+                    }
+                }))
+                .toCompletableFuture();
+        // Tracked from the start so flush() also waits for files that are not complete yet
+        pending.add(attached);
+        return attached;
+    }
+
+    /**
+     * Write bytes to a file, creating parent directories as needed
+     */
+    public CompletableFuture<Void> write(Path target, byte[] content) {
+        return submit(() -> {
+            try {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                Files.write(target, content);
+            } catch (IOException e) {
+                logger.warn("Failed to write " + target + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Append bytes to a file, creating it and its parent directories as needed; appends to the
+     * same file never interleave
+     */
+    public CompletableFuture<Void> append(Path target, byte[] content) {
+        Object lock = appendLocks.computeIfAbsent(target.toAbsolutePath().normalize(), key -> new Object());
+        return submit(() -> {
+            synchronized (lock) {
+                try {
+                    Files.createDirectories(target.toAbsolutePath().getParent());
+                    Files.write(target, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    logger.warn("Failed to append to " + target + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Block until every artifact submitted so far has been written
+     */
+    public void flush() {
+        CompletableFuture<Void> next;
+        while ((next = pending.poll()) != null) {
+            try {
+                next.get(60, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                logger.warn("Artifact write did not complete: " + e.getMessage());
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submit(Runnable task) {
+        purgeCompleted();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pending.add(future);
+        executor.execute(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                logger.warn("Artifact write failed: " + e.getMessage());
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void purgeCompleted() {
+        Iterator<CompletableFuture<Void>> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.chirangv.browser;
+
+import com.chirangv.utils.ConfigReader;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Launches browsers according to config.properties
+ */
+public class BrowserFactory {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserFactory.class);
+
+    private BrowserFactory() {
+    }
+
+    /**
+     * Check if browsers should run headless, forcing headless mode on CI
+     */
+    public static boolean isHeadless() {
+        boolean isCI = System.getenv("CI") != null || System.getenv("GITHUB_ACTIONS") != null;
+        return isCI || ConfigReader.isHeadless();
+    }
+
+    /**
+     * Launch the configured browser type on the given Playwright instance
+     */
+    public static Browser launch(Playwright playwright, String browserType) {
+        boolean headless = isHeadless();
+
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(Integer.parseInt(ConfigReader.getProperty("slowMo")));
+
+        Browser browser;
+        switch (browserType.toLowerCase()) {
+            case "firefox":
+                browser = playwright.firefox().launch(launchOptions);
+                break;
+            case "webkit":
+                browser = playwright.webkit().launch(launchOptions);
+                break;
+            default:
+                browser = playwright.chromium().launch(launchOptions);
+        }
+
+        logger.info("Browser launched: " + browserType + " (headless: " + headless + ")");
+        return browser;
+    }
+}
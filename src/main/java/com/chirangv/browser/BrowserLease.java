@@ -0,0 +1,65 @@
+package com.chirangv.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exclusive use of a pooled browser; close the lease to hand the browser back
+ */
+public class BrowserLease implements AutoCloseable {
+    private final BrowserPool pool;
+    private final BrowserPool.PooledBrowser pooled;
+    private boolean released;
+
+    BrowserLease(BrowserPool pool, BrowserPool.PooledBrowser pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+    }
+
+    public Browser getBrowser() {
+        return pooled.browser;
+    }
+
+    public Playwright getPlaywright() {
+        return pooled.playwright;
+    }
+
+    /**
+     * Take a context the pool pre-warmed on this browser, with its page already open, or
+     * null if none is ready
+     */
+    public BrowserContext takeWarmContext() {
+        return pool.takeWarmContext(pooled);
+    }
+
+    /**
+     * Leave a context of this lease for the pool to close once the browser is handed back,
+     * in the background when pre-warming is on
+     *
+     * @return completes once the context is closed, and with it any video it recorded
+     */
+    public CompletableFuture<Void> closeInBackground(BrowserContext context) {
+        if (released) {
+            throw new IllegalStateException("Browser lease has already been closed");
+        }
+        return pool.closeLater(pooled, context);
+    }
+
+    /**
+     * Number of times the underlying browser has been leased, including this lease
+     */
+    public int getUseCount() {
+        return pooled.uses;
+    }
+
+    @Override
+    public void close() {
+        if (!released) {
+            released = true;
+            pool.release(pooled);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.chirangv.browser;
+
+import com.chirangv.utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The browsers and viewports a run covers.
+ *
+ * Without matrix.browsers the run uses the single configured browser and viewport. With it,
+ * every test runs once per browser, and once per viewport of matrix.viewports if set; each
+ * combination is a cell, identified in the suite by the test parameters "browser" and
+ * "viewport".
+ *
+ * Configuration (config.properties):
+ * - matrix.browsers: comma-separated browsers, e.g. chromium,firefox,webkit (default none)
+ * - matrix.viewports: comma-separated WIDTHxHEIGHT viewports, e.g. 1920x1080,390x844 (default none)
+ */
+public final class BrowserMatrix {
+    public static final String BROWSER_PARAMETER = "browser";
+    public static final String VIEWPORT_PARAMETER = "viewport";
+
+    private static final List<String> ENGINES = Arrays.asList("chromium", "firefox", "webkit");
+
+    private BrowserMatrix() {
+    }
+
+    public static boolean isEnabled() {
+        return !ConfigReader.getProperty("matrix.browsers", "").isEmpty();
+    }
+
+    /**
+     * Browsers of the matrix, or the configured browser when the matrix is off
+     *
+     * @throws IllegalArgumentException if a browser is not chromium, firefox or webkit
+     */
+    public static List<String> getBrowsers() {
+        if (!isEnabled()) {
+            return Collections.singletonList(ConfigReader.getBrowser());
+        }
+        List<String> browsers = new ArrayList<>();
+        for (String browser : split(ConfigReader.getProperty("matrix.browsers"))) {
+            String engine = browser.toLowerCase();
+            if (!ENGINES.contains(engine)) {
+                throw new IllegalArgumentException("matrix.browsers: unknown browser " + browser
+                        + " (expected one of " + ENGINES + ")");
+            }
+            if (!browsers.contains(engine)) {
+                browsers.add(engine);
+            }
+        }
+        return browsers;
+    }
+
+    /**
+     * Viewports of the matrix as WIDTHxHEIGHT, or an empty list to use the configured viewport
+     *
+     * @throws IllegalArgumentException if a viewport is malformed
+     */
+    public static List<String> getViewports() {
+        List<String> viewports = new ArrayList<>();
+        for (String viewport : split(ConfigReader.getProperty("matrix.viewports", ""))) {
+            parseViewport(viewport);
+            if (!viewports.contains(viewport)) {
+                viewports.add(viewport);
+            }
+        }
+        return viewports;
+    }
+
+    /**
+     * Width and height of a WIDTHxHEIGHT viewport
+     *
+     * @throws IllegalArgumentException if the viewport is malformed
+     */
+    public static int[] parseViewport(String viewport) {
+        String[] size = viewport.trim().toLowerCase().split("x");
+        try {
+            if (size.length == 2) {
+                int width = Integer.parseInt(size[0].trim());
+                int height = Integer.parseInt(size[1].trim());
+                if (width > 0 && height > 0) {
+                    return new int[] {width, height};
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid viewport " + viewport + " (expected WIDTHxHEIGHT, e.g. 1280x720)");
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.trim().isEmpty()) {
+                parts.add(part.trim());
+            }
+        }
+        return parts;
+    }
+}
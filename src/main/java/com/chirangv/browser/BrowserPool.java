@@ -0,0 +1,531 @@
+package com.chirangv.browser;
+
+import com.chirangv.utils.ConfigReader;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Video;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Suite-scoped pool of warm browsers of one type.
+ *
+ * Browsers are launched lazily up to the configured size and leased to one thread at a
+ * time. Playwright objects are not thread-safe, so a lease gives the holder exclusive use
+ * of the browser and of the Playwright instance that launched it. Browsers are health
+ * checked when leased and recycled after a configurable number of uses.
+ *
+ * With pre-warming on, a returned browser can be leased again straight away and is turned
+ * around in the background while it is idle: the contexts its last holder handed back or
+ * left open are closed and, once a context factory is set, ready contexts are created for
+ * the next lease. The turnaround runs one step at a time and stops as soon as the browser is
+ * leased, so a new holder waits at most for the step in progress, gets a fresh context if no
+ * ready one was finished, and leaves the remaining closes to the next turnaround.
+ *
+ * The suite keeps one pool per browser type, so the engines of a {@link BrowserMatrix} run
+ * never wait for each other's browsers.
+ *
+ * Configuration (config.properties):
+ * - browserPool.size: maximum number of browsers per browser type (default 4)
+ * - browserPool.maxUses: leases before a browser is relaunched (default 50)
+ * - browserPool.leaseTimeout: milliseconds to wait for a free browser (default 120000)
+ * - browserPool.prewarmContexts: ready contexts kept per browser (default 1, 0 turns
+ *   browsers around on the releasing thread and keeps no contexts)
+ */
+public class BrowserPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    private static final Map<String, BrowserPool> instances = new LinkedHashMap<>();
+
+    private final String browserType;
+    private final int maxSize;
+    private final int maxUses;
+    private final long leaseTimeoutMillis;
+    private final int prewarmContexts;
+    private final ThreadPoolExecutor turnaround;
+    private volatile Function<Browser, BrowserContext> contextFactory;
+
+    private final LinkedBlockingDeque<PooledBrowser> idle = new LinkedBlockingDeque<>();
+    private final List<PooledBrowser> all = new ArrayList<>();
+    private final BrowserPoolMetrics metrics = new BrowserPoolMetrics();
+    private int launched;
+    private boolean shutdown;
+
+    public BrowserPool(String browserType, int maxSize, int maxUses, long leaseTimeoutMillis) {
+        this(browserType, maxSize, maxUses, leaseTimeoutMillis, 0);
+    }
+
+    public BrowserPool(String browserType, int maxSize, int maxUses, long leaseTimeoutMillis, int prewarmContexts) {
+        this.browserType = browserType;
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.prewarmContexts = prewarmContexts;
+        if (prewarmContexts > 0) {
+            // Turnarounds of the same browser take turns on its lock, one step at a time
+            AtomicInteger counter = new AtomicInteger();
+            turnaround = new ThreadPoolExecutor(maxSize, maxSize, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "browser-turnaround-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            turnaround.allowCoreThreadTimeOut(true);
+        } else {
+            turnaround = null;
+        }
+    }
+
+    /**
+     * Get the suite-wide pool of the configured browser
+     */
+    public static BrowserPool getInstance() {
+        return getInstance(ConfigReader.getBrowser());
+    }
+
+    /**
+     * Get the suite-wide pool of a browser type, created from config.properties on first use
+     */
+    public static synchronized BrowserPool getInstance(String browserType) {
+        return instances.computeIfAbsent(browserType.toLowerCase(), type -> new BrowserPool(
+                type,
+                ConfigReader.getIntProperty("browserPool.size", 4),
+                ConfigReader.getIntProperty("browserPool.maxUses", 50),
+                ConfigReader.getIntProperty("browserPool.leaseTimeout", 120000),
+                ConfigReader.getIntProperty("browserPool.prewarmContexts", 1)));
+    }
+
+    /**
+     * The suite-wide pools created so far, by browser type
+     */
+    public static synchronized Map<String, BrowserPool> getInstances() {
+        return new LinkedHashMap<>(instances);
+    }
+
+    /**
+     * Shut down every suite-wide pool that was created
+     */
+    public static void shutdownInstances() {
+        List<BrowserPool> pools;
+        synchronized (BrowserPool.class) {
+            pools = new ArrayList<>(instances.values());
+            instances.clear();
+        }
+        for (BrowserPool pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Pre-warm contexts for the next leases with this factory. The factory runs on a
+     * background thread with exclusive use of the browser and must leave one page open in
+     * the context it returns.
+     */
+    public void setContextFactory(Function<Browser, BrowserContext> contextFactory) {
+        this.contextFactory = contextFactory;
+    }
+
+    /**
+     * Lease a browser, launching a new one if the pool is not yet at capacity
+     */
+    public BrowserLease acquire() {
+        long waitStart = System.nanoTime();
+        try {
+            while (true) {
+                PooledBrowser candidate = idle.pollFirst();
+                if (candidate == null && reserveLaunchSlot()) {
+                    candidate = launch();
+                }
+                if (candidate == null) {
+                    long remaining = leaseTimeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart);
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("Timed out after " + leaseTimeoutMillis
+                                + " ms waiting for a browser from the pool");
+                    }
+                    candidate = idle.pollFirst(remaining, TimeUnit.MILLISECONDS);
+                    if (candidate == null) {
+                        continue;
+                    }
+                }
+                candidate.leased = true;
+                long claimStart = System.nanoTime();
+                boolean healthy;
+                synchronized (candidate.access) {
+                    // The turnaround stops before its next step; wait out the one in progress
+                    metrics.recordTurnaroundWait(System.nanoTime() - claimStart);
+                    healthy = isHealthy(candidate);
+                }
+                if (healthy) {
+                    candidate.uses++;
+                    candidate.leaseWaitNanos = System.nanoTime() - waitStart;
+                    metrics.recordLeaseWait(candidate.leaseWaitNanos);
+                    return new BrowserLease(this, candidate);
+                }
+                logger.warn("Discarding unhealthy browser from pool");
+                discard(candidate);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser from the pool", e);
+        }
+    }
+
+    /**
+     * Return a leased browser. With pre-warming on it is available again at once and turned
+     * around in the background; otherwise it is turned around on the releasing thread first.
+     */
+    void release(PooledBrowser pooled) {
+        pooled.leftoversChecked = false;
+        if (pooled.uses >= maxUses || isShutdown()) {
+            runInBackground(() -> retire(pooled));
+            return;
+        }
+        pooled.leased = false;
+        if (turnaround == null) {
+            turnAround(pooled);
+            idle.offerFirst(pooled);
+            return;
+        }
+        // Most recently used browsers are leased first so idle ones are rarely touched
+        idle.offerFirst(pooled);
+        runInBackground(() -> turnAround(pooled));
+    }
+
+    /**
+     * Close a context of the holder of a browser once the browser is handed back, off the
+     * holder's thread when pre-warming is on
+     *
+     * @return completes once the context is closed, and with it any video it recorded
+     */
+    CompletableFuture<Void> closeLater(PooledBrowser pooled, BrowserContext context) {
+        PendingClose pending = new PendingClose(context);
+        pooled.closing.add(pending);
+        return pending.closed;
+    }
+
+    /**
+     * Take a context pre-warmed for the holder of a browser, with its page open, or null if
+     * none is ready
+     */
+    BrowserContext takeWarmContext(PooledBrowser pooled) {
+        if (turnaround == null || contextFactory == null) {
+            return null;
+        }
+        WarmContext warm;
+        while ((warm = pooled.warm.pollFirst()) != null) {
+            List<Page> pages = warm.context.pages();
+            if (!pages.isEmpty() && !pages.get(0).isClosed()) {
+                metrics.recordWarmHit(warm.createNanos, pooled.leaseWaitNanos);
+                return warm.context;
+            }
+            metrics.recordWarmDiscarded(1);
+            closeUnused(warm.context);
+        }
+        metrics.recordWarmMiss();
+        return null;
+    }
+
+    /**
+     * Close every browser in the pool
+     */
+    public void shutdown() {
+        if (turnaround != null) {
+            // Let browsers being turned around finish before closing them
+            turnaround.shutdown();
+            try {
+                turnaround.awaitTermination(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PooledBrowser> toClose;
+        synchronized (this) {
+            shutdown = true;
+            toClose = new ArrayList<>(all);
+            all.clear();
+        }
+        idle.clear();
+        for (PooledBrowser pooled : toClose) {
+            closeQuietly(pooled);
+        }
+        logger.info("Browser pool (" + browserType + ") shut down: " + metrics);
+    }
+
+    public String getBrowserType() {
+        return browserType;
+    }
+
+    public BrowserPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    private synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    private synchronized boolean reserveLaunchSlot() {
+        if (shutdown) {
+            throw new IllegalStateException("Browser pool has been shut down");
+        }
+        if (launched < maxSize) {
+            launched++;
+            return true;
+        }
+        return false;
+    }
+
+    private PooledBrowser launch() {
+        long start = System.nanoTime();
+        Playwright playwright = null;
+        try {
+            playwright = Playwright.create();
+            Browser browser = BrowserFactory.launch(playwright, browserType);
+            PooledBrowser pooled = new PooledBrowser(playwright, browser);
+            synchronized (this) {
+                all.add(pooled);
+            }
+            metrics.recordLaunch(System.nanoTime() - start);
+            return pooled;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                launched--;
+            }
+            if (playwright != null) {
+                playwright.close();
+            }
+            throw e;
+        }
+    }
+
+    private void runInBackground(Runnable task) {
+        if (turnaround == null) {
+            task.run();
+            return;
+        }
+        try {
+            turnaround.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The pool is shutting down
+            task.run();
+        }
+    }
+
+    /**
+     * Work through what a returned browser needs, one step at a time while nobody leases it:
+     * close the contexts its holders handed back or left open, then top up its ready contexts
+     */
+    private void turnAround(PooledBrowser pooled) {
+        while (true) {
+            synchronized (pooled.access) {
+                if (pooled.leased || !turnAroundStep(pooled)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Do the next step of a turnaround, or return false if there is nothing left to do
+     */
+    private boolean turnAroundStep(PooledBrowser pooled) {
+        PendingClose pending = pooled.closing.poll();
+        if (pending != null) {
+            close(pending);
+            return true;
+        }
+        if (!pooled.leftoversChecked) {
+            pooled.leftoversChecked = true;
+            closeLeftoverContexts(pooled);
+            return true;
+        }
+        return warmOne(pooled);
+    }
+
+    /**
+     * Close a browser that reached its use limit, or that came back after shutdown
+     */
+    private void retire(PooledBrowser pooled) {
+        if (!isShutdown()) {
+            logger.info("Recycling browser after " + pooled.uses + " uses");
+            metrics.recordRecycle();
+        }
+        discard(pooled);
+    }
+
+    private boolean warmOne(PooledBrowser pooled) {
+        Function<Browser, BrowserContext> factory = contextFactory;
+        if (factory == null || pooled.warm.size() >= prewarmContexts) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            BrowserContext context = factory.apply(pooled.browser);
+            pooled.warm.addLast(new WarmContext(context, System.nanoTime() - start));
+            metrics.recordContextWarmed();
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to pre-warm a browser context: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(PooledBrowser pooled) {
+        try {
+            return pooled.browser.isConnected();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void closeLeftoverContexts(PooledBrowser pooled) {
+        try {
+            for (BrowserContext context : pooled.browser.contexts()) {
+                if (!pooled.isWarm(context)) {
+                    long start = System.nanoTime();
+                    context.close();
+                    if (turnaround != null) {
+                        metrics.recordBackgroundClose(System.nanoTime() - start);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to close leftover contexts: " + e.getMessage());
+        }
+    }
+
+    private void close(PendingClose pending) {
+        long start = System.nanoTime();
+        try {
+            pending.context.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close a browser context: " + e.getMessage());
+        } finally {
+            if (turnaround != null) {
+                metrics.recordBackgroundClose(System.nanoTime() - start);
+            }
+            pending.closed.complete(null);
+        }
+    }
+
+    /**
+     * Close a ready context no test took, deleting the video it recorded while waiting
+     */
+    private void closeUnused(BrowserContext context) {
+        try {
+            List<Video> videos = new ArrayList<>();
+            for (Page page : context.pages()) {
+                if (page.video() != null) {
+                    videos.add(page.video());
+                }
+            }
+            context.close();
+            for (Video video : videos) {
+                video.delete();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to close a pre-warmed context: " + e.getMessage());
+        }
+    }
+
+    private void discard(PooledBrowser pooled) {
+        synchronized (this) {
+            all.remove(pooled);
+            launched--;
+        }
+        closeQuietly(pooled);
+    }
+
+    private void closeQuietly(PooledBrowser pooled) {
+        PendingClose pending;
+        while ((pending = pooled.closing.poll()) != null) {
+            close(pending);
+        }
+        metrics.recordWarmDiscarded(pooled.warm.size());
+        for (WarmContext warm : pooled.warm) {
+            closeUnused(warm.context);
+        }
+        pooled.warm.clear();
+        try {
+            // Closing Playwright also closes the browser it launched
+            pooled.playwright.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close pooled browser: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A browser together with the Playwright instance that owns it and its ready contexts
+     */
+    static class PooledBrowser {
+        final Playwright playwright;
+        final Browser browser;
+        final Deque<WarmContext> warm = new ConcurrentLinkedDeque<>();
+        final Queue<PendingClose> closing = new ConcurrentLinkedQueue<>();
+        /**
+         * Held by the turnaround for each step, and briefly by a new holder to wait one out
+         */
+        final Object access = new Object();
+        volatile boolean leased = true;
+        volatile boolean leftoversChecked = true;
+        long leaseWaitNanos;
+        int uses;
+
+        PooledBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        boolean isWarm(BrowserContext context) {
+            for (WarmContext candidate : warm) {
+                if (candidate.context == context) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A context its holder handed back to be closed
+     */
+    private static class PendingClose {
+        final BrowserContext context;
+        final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+        PendingClose(BrowserContext context) {
+            this.context = context;
+        }
+    }
+
+    /**
+     * A pre-warmed context and how long it took to prepare
+     */
+    private static class WarmContext {
+        final BrowserContext context;
+        final long createNanos;
+
+        WarmContext(BrowserContext context, long createNanos) {
+            this.context = context;
+            this.createNanos = createNanos;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.chirangv.browser;
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Launch, lease wait-time and context pre-warming counters for a {@link BrowserPool}
+ */
+public class BrowserPoolMetrics {
+    private final AtomicLong launches = new AtomicLong();
+    private final AtomicLong launchNanos = new AtomicLong();
+    private final AtomicLong maxLaunchNanos = new AtomicLong();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+    private final AtomicLong recycles = new AtomicLong();
+    private final AtomicLong contextsWarmed = new AtomicLong();
+    private final AtomicLong warmHits = new AtomicLong();
+    private final AtomicLong warmHitNanos = new AtomicLong();
+    private final AtomicLong warmHitSavedNanos = new AtomicLong();
+    private final AtomicLong warmMisses = new AtomicLong();
+    private final AtomicLong warmDiscarded = new AtomicLong();
+    private final AtomicLong backgroundCloses = new AtomicLong();
+    private final AtomicLong backgroundCloseNanos = new AtomicLong();
+    private final AtomicLong turnaroundWaitNanos = new AtomicLong();
+
+    void recordLaunch(long nanos) {
+        launches.incrementAndGet();
+        launchNanos.addAndGet(nanos);
+        maxLaunchNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordLeaseWait(long nanos) {
+        leases.incrementAndGet();
+        leaseWaitNanos.addAndGet(nanos);
+        maxLeaseWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordRecycle() {
+        recycles.incrementAndGet();
+    }
+
+    void recordContextWarmed() {
+        contextsWarmed.incrementAndGet();
+    }
+
+    void recordWarmHit(long createNanos, long leaseWaitNanos) {
+        warmHits.incrementAndGet();
+        warmHitNanos.addAndGet(createNanos);
+        warmHitSavedNanos.addAndGet(Math.max(0, createNanos - leaseWaitNanos));
+    }
+
+    void recordWarmMiss() {
+        warmMisses.incrementAndGet();
+    }
+
+    void recordWarmDiscarded(int contexts) {
+        warmDiscarded.addAndGet(contexts);
+    }
+
+    void recordBackgroundClose(long nanos) {
+        backgroundCloses.incrementAndGet();
+        backgroundCloseNanos.addAndGet(nanos);
+    }
+
+    void recordTurnaroundWait(long nanos) {
+        turnaroundWaitNanos.addAndGet(nanos);
+    }
+
+    public long getLaunches() {
+        return launches.get();
+    }
+
+    public long getLeases() {
+        return leases.get();
+    }
+
+    public long getRecycles() {
+        return recycles.get();
+    }
+
+    public long getAverageLaunchMillis() {
+        return average(launchNanos.get(), launches.get());
+    }
+
+    public long getMaxLaunchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLaunchNanos.get());
+    }
+
+    public long getAverageLeaseWaitMillis() {
+        return average(leaseWaitNanos.get(), leases.get());
+    }
+
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get());
+    }
+
+    public long getContextsWarmed() {
+        return contextsWarmed.get();
+    }
+
+    public long getWarmHits() {
+        return warmHits.get();
+    }
+
+    public long getWarmMisses() {
+        return warmMisses.get();
+    }
+
+    /**
+     * Ready contexts thrown away unused, e.g. when their browser was recycled
+     */
+    public long getWarmDiscarded() {
+        return warmDiscarded.get();
+    }
+
+    /**
+     * Percentage of tests that asked for a pre-warmed context and got one
+     */
+    public double getWarmHitRate() {
+        long asked = warmHits.get() + warmMisses.get();
+        return asked == 0 ? 0 : Math.round(warmHits.get() * 1000.0 / asked) / 10.0;
+    }
+
+    public long getBackgroundCloses() {
+        return backgroundCloses.get();
+    }
+
+    /**
+     * Time leases spent waiting for a turnaround step in progress on their browser
+     */
+    public long getTurnaroundWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(turnaroundWaitNanos.get());
+    }
+
+    /**
+     * Context setup and teardown time taken off test threads: creating each context a test
+     * received ready, less the lease wait that test paid, plus closing contexts in the
+     * background, less the time leases waited for a turnaround step to finish
+     */
+    public long getTimeSavedMillis() {
+        long closeSavedNanos = Math.max(0, backgroundCloseNanos.get() - turnaroundWaitNanos.get());
+        return TimeUnit.NANOSECONDS.toMillis(warmHitSavedNanos.get() + closeSavedNanos);
+    }
+
+    /**
+     * Snapshot of the counters as JSON
+     */
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("launches", getLaunches());
+        json.addProperty("avgLaunchMs", getAverageLaunchMillis());
+        json.addProperty("maxLaunchMs", getMaxLaunchMillis());
+        json.addProperty("leases", getLeases());
+        json.addProperty("avgLeaseWaitMs", getAverageLeaseWaitMillis());
+        json.addProperty("maxLeaseWaitMs", getMaxLeaseWaitMillis());
+        json.addProperty("recycles", getRecycles());
+        json.addProperty("contextsWarmed", getContextsWarmed());
+        json.addProperty("warmHits", getWarmHits());
+        json.addProperty("warmMisses", getWarmMisses());
+        json.addProperty("warmHitRate", getWarmHitRate());
+        json.addProperty("warmDiscarded", getWarmDiscarded());
+        json.addProperty("avgWarmContextMs", average(warmHitNanos.get(), warmHits.get()));
+        json.addProperty("backgroundCloses", getBackgroundCloses());
+        json.addProperty("avgBackgroundCloseMs", average(backgroundCloseNanos.get(), backgroundCloses.get()));
+        json.addProperty("turnaroundWaitMs", getTurnaroundWaitMillis());
+        json.addProperty("timeSavedMs", getTimeSavedMillis());
+        return json;
+    }
+
+    private static long average(long totalNanos, long count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+}
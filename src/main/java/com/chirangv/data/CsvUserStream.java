@@ -0,0 +1,79 @@
+package com.chirangv.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams users from CSV whose header row names the user fields (username, email, ...).
+ * Fields may be double-quoted to contain commas; a doubled quote inside quotes is a literal quote.
+ */
+class CsvUserStream extends UserStream {
+    private final BufferedReader reader;
+    private List<String> header;
+
+    CsvUserStream(Reader source) {
+        this.reader = new BufferedReader(source);
+    }
+
+    @Override
+    protected TestUser readNext() throws IOException {
+        if (header == null) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return null;
+            }
+            header = parseLine(headerLine);
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> values = parseLine(line);
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                attributes.put(header.get(i), values.get(i));
+            }
+            return new TestUser(attributes);
+        }
+        return null;
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    @Override
+    protected void release() throws IOException {
+        reader.close();
+    }
+}
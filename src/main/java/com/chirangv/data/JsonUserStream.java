@@ -0,0 +1,56 @@
+package com.chirangv.data;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams users from a JSON document that is either an array of user objects or an object
+ * with a testUsers array (the test-data.json layout); other fields are skipped unread
+ */
+class JsonUserStream extends UserStream {
+    private final JsonReader reader;
+    private boolean started;
+
+    JsonUserStream(Reader source) {
+        this.reader = new JsonReader(source);
+    }
+
+    @Override
+    protected TestUser readNext() throws IOException {
+        if (!started) {
+            started = true;
+            if (!openUserArray()) {
+                return null;
+            }
+        }
+        if (!reader.hasNext()) {
+            return null;
+        }
+        return TestUser.fromJson(JsonParser.parseReader(reader).getAsJsonObject());
+    }
+
+    private boolean openUserArray() throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            return true;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("testUsers".equals(reader.nextName())) {
+                reader.beginArray();
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    protected void release() throws IOException {
+        reader.close();
+    }
+}
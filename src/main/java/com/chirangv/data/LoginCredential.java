@@ -0,0 +1,43 @@
+package com.chirangv.data;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Immutable email/password pair from the loginCredentials section of the test data
+ */
+public final class LoginCredential {
+    private final String email;
+    private final String password;
+    private final String expectedResult;
+
+    public LoginCredential(String email, String password, String expectedResult) {
+        this.email = email;
+        this.password = password;
+        this.expectedResult = expectedResult;
+    }
+
+    static LoginCredential fromJson(JsonObject json) {
+        return new LoginCredential(json.get("email").getAsString(), json.get("password").getAsString(),
+                json.get("expectedResult").getAsString());
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * What logging in with this pair should do: success, failure, validation_error or empty_fields
+     */
+    public String getExpectedResult() {
+        return expectedResult;
+    }
+
+    @Override
+    public String toString() {
+        return "LoginCredential{email=" + email + ", expectedResult=" + expectedResult + "}";
+    }
+}
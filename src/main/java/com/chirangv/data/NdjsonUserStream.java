@@ -0,0 +1,34 @@
+package com.chirangv.data;
+
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams users from newline-delimited JSON, one user object per line; blank lines are ignored
+ */
+class NdjsonUserStream extends UserStream {
+    private final BufferedReader reader;
+
+    NdjsonUserStream(Reader source) {
+        this.reader = new BufferedReader(source);
+    }
+
+    @Override
+    protected TestUser readNext() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                return TestUser.fromJson(JsonParser.parseString(line).getAsJsonObject());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void release() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,67 @@
+package com.chirangv.data;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates distinct, reproducible users on demand. User n depends only on the seed and n,
+ * so the same seed always yields the same accounts without keeping any of them around.
+ */
+class SyntheticUserStream extends UserStream {
+    private static final String[] FIRST_NAMES = {
+            "Ava", "Ben", "Chloe", "Daniel", "Emma", "Felix", "Grace", "Hugo", "Isla", "Jack",
+            "Kira", "Liam", "Maya", "Noah", "Olivia", "Priya", "Quinn", "Ravi", "Sofia", "Theo"};
+    private static final String[] LAST_NAMES = {
+            "Adams", "Brown", "Chen", "Davis", "Evans", "Garcia", "Hill", "Ito", "Khan", "Lopez",
+            "Martin", "Nguyen", "Patel", "Reed", "Silva", "Taylor", "Walker", "Young"};
+    private static final String[] TOPICS = {
+            "full-stack development", "API integration", "database optimization",
+            "a chatbot for our support team", "a code review of our platform", "mentoring"};
+
+    private static final Pattern SYNTHETIC_EMAIL = Pattern.compile("synthetic(\\d{7,18})@example\\.test",
+            Pattern.CASE_INSENSITIVE);
+
+    private final long seed;
+    private final long count;
+    private long index;
+
+    SyntheticUserStream(long seed, long count) {
+        this.seed = seed;
+        this.count = count;
+    }
+
+    @Override
+    protected TestUser readNext() {
+        return index < count ? generate(seed, index++) : null;
+    }
+
+    /**
+     * Position of a synthetic user by email, or -1 if the email is not a synthetic one
+     */
+    static long indexOf(String email) {
+        Matcher matcher = SYNTHETIC_EMAIL.matcher(email);
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    static TestUser generate(long seed, long index) {
+        Random random = new Random(seed * 1_000_003L + index);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = String.format(Locale.ROOT, "synthetic%07d", index);
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("userType", "syntheticUser");
+        attributes.put("name", first + " " + last);
+        attributes.put("email", username + "@example.test");
+        attributes.put("username", username);
+        attributes.put("password", "Pw!" + Long.toHexString(random.nextLong() & 0xffffffffL) + "a9");
+        attributes.put("phone", String.format(Locale.ROOT, "+1-555-%03d-%04d", random.nextInt(1000), random.nextInt(10000)));
+        attributes.put("message", "Hi, this is " + first + ". I'd like to talk about "
+                + TOPICS[random.nextInt(TOPICS.length)] + " (ref " + username + ").");
+        return new TestUser(attributes);
+    }
+}
@@ -0,0 +1,189 @@
+package com.chirangv.data;
+
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typed, indexed view of test-data.json, loaded from the classpath on first use.
+ *
+ * Users are indexed by username and by any other field on demand; the fields listed in
+ * testData.indexKeys are indexed up front. All indexes are immutable once built, so lookups
+ * are constant time and safe from parallel data providers.
+ */
+public class TestDataRepository {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataRepository.class);
+
+    private final JsonObject rawData;
+    private final List<TestUser> users;
+    private final List<LoginCredential> credentials;
+    private final Map<String, TestUser> usersByUsername;
+    private final Map<String, List<LoginCredential>> credentialsByResult;
+    private final Map<String, Map<String, List<TestUser>>> userIndexes = new ConcurrentHashMap<>();
+
+    TestDataRepository(JsonObject rawData, List<String> indexKeys) {
+        this.rawData = rawData;
+
+        List<TestUser> userList = new ArrayList<>();
+        for (JsonElement element : array(rawData, "testUsers")) {
+            userList.add(TestUser.fromJson(element.getAsJsonObject()));
+        }
+        this.users = Collections.unmodifiableList(userList);
+
+        List<LoginCredential> credentialList = new ArrayList<>();
+        for (JsonElement element : array(rawData, "loginCredentials")) {
+            credentialList.add(LoginCredential.fromJson(element.getAsJsonObject()));
+        }
+        this.credentials = Collections.unmodifiableList(credentialList);
+
+        Map<String, TestUser> byUsername = new HashMap<>();
+        for (TestUser user : users) {
+            if (user.getUsername() != null && byUsername.putIfAbsent(user.getUsername(), user) != null) {
+                throw new IllegalStateException("Duplicate username in test data: " + user.getUsername());
+            }
+        }
+        this.usersByUsername = Collections.unmodifiableMap(byUsername);
+
+        Map<String, List<LoginCredential>> byResult = new HashMap<>();
+        for (LoginCredential credential : credentials) {
+            byResult.computeIfAbsent(credential.getExpectedResult(), key -> new ArrayList<>()).add(credential);
+        }
+        byResult.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        this.credentialsByResult = Collections.unmodifiableMap(byResult);
+
+        for (String key : indexKeys) {
+            index(key);
+        }
+    }
+
+    /**
+     * Get the repository for the resource named by testData.resource, loading it on first use
+     */
+    public static TestDataRepository getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static TestDataRepository loadConfigured() {
+        String resource = ConfigReader.getProperty("testData.resource", "testdata/test-data.json");
+        List<String> indexKeys = new ArrayList<>();
+        for (String key : ConfigReader.getProperty("testData.indexKeys", "userType").split(",")) {
+            if (!key.trim().isEmpty()) {
+                indexKeys.add(key.trim());
+            }
+        }
+        TestDataRepository repository = new TestDataRepository(load(resource), indexKeys);
+        logger.info("Test data loaded from classpath:" + resource + " (" + repository.users.size() + " users, "
+                + repository.credentials.size() + " credentials)");
+        return repository;
+    }
+
+    /**
+     * The test data as parsed JSON, for sections that have no typed accessor; callers get a copy
+     */
+    public JsonObject getRawData() {
+        return rawData.deepCopy();
+    }
+
+    public List<TestUser> getUsers() {
+        return users;
+    }
+
+    /**
+     * Get a user by username, or null if there is none
+     */
+    public TestUser getUser(String username) {
+        return usersByUsername.get(username);
+    }
+
+    /**
+     * Get all users of a type, e.g. "adminUser"; empty if there are none
+     */
+    public List<TestUser> getUsersByType(String userType) {
+        return findUsers("userType", userType);
+    }
+
+    /**
+     * Get the first user of a type, or null if there is none
+     */
+    public TestUser getUserOfType(String userType) {
+        List<TestUser> matches = getUsersByType(userType);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Get all users whose field equals the value; the field is indexed on first use
+     */
+    public List<TestUser> findUsers(String key, String value) {
+        List<TestUser> matches = index(key).get(value);
+        return matches == null ? Collections.emptyList() : matches;
+    }
+
+    public List<LoginCredential> getCredentials() {
+        return credentials;
+    }
+
+    /**
+     * Get the first credential pair with the expected result, or null if there is none
+     */
+    public LoginCredential getCredential(String expectedResult) {
+        List<LoginCredential> matches = credentialsByResult.get(expectedResult);
+        return matches == null ? null : matches.get(0);
+    }
+
+    private Map<String, List<TestUser>> index(String key) {
+        return userIndexes.computeIfAbsent(key, field -> {
+            Map<String, List<TestUser>> index = new HashMap<>();
+            for (TestUser user : users) {
+                String value = user.get(field);
+                if (value != null) {
+                    index.computeIfAbsent(value, v -> new ArrayList<>()).add(user);
+                }
+            }
+            index.replaceAll((value, list) -> Collections.unmodifiableList(list));
+            return Collections.unmodifiableMap(index);
+        });
+    }
+
+    private static JsonObject load(String resource) {
+        try (InputStream input = TestDataRepository.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Test data not found on the classpath: " + resource);
+            }
+            try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+                JsonObject data = new Gson().fromJson(reader, JsonObject.class);
+                return data == null ? new JsonObject() : data;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading test data: " + resource, e);
+        }
+    }
+
+    private static JsonArray array(JsonObject data, String name) {
+        return data.has(name) ? data.getAsJsonArray(name) : new JsonArray();
+    }
+
+    /**
+     * Loads the repository on first use; the JVM's class initialisation makes that thread-safe
+     * without locking later lookups
+     */
+    private static final class Holder {
+        static final TestDataRepository INSTANCE = loadConfigured();
+    }
+}
@@ -0,0 +1,73 @@
+package com.chirangv.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable user record from the testUsers section of the test data
+ */
+public final class TestUser {
+    private final Map<String, String> attributes;
+
+    public TestUser(Map<String, String> attributes) {
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    static TestUser fromJson(JsonObject json) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> field : json.entrySet()) {
+            if (field.getValue().isJsonPrimitive()) {
+                attributes.put(field.getKey(), field.getValue().getAsString());
+            }
+        }
+        return new TestUser(attributes);
+    }
+
+    public String getUserType() {
+        return attributes.get("userType");
+    }
+
+    public String getName() {
+        return attributes.get("name");
+    }
+
+    public String getEmail() {
+        return attributes.get("email");
+    }
+
+    public String getUsername() {
+        return attributes.get("username");
+    }
+
+    public String getPassword() {
+        return attributes.get("password");
+    }
+
+    public String getPhone() {
+        return attributes.get("phone");
+    }
+
+    public String getMessage() {
+        return attributes.get("message");
+    }
+
+    /**
+     * Any field of the record by name, or null if the record does not declare it
+     */
+    public String get(String key) {
+        return attributes.get(key);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "TestUser{username=" + getUsername() + ", userType=" + getUserType() + "}";
+    }
+}
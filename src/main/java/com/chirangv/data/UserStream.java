@@ -0,0 +1,66 @@
+package com.chirangv.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily produced sequence of test users. Only the next record is held in memory, and the
+ * underlying source is closed as soon as the last record has been read.
+ */
+public abstract class UserStream implements Iterator<TestUser>, Closeable {
+    private TestUser next;
+    private boolean done;
+
+    /**
+     * Read the next record, or return null at the end of the source
+     */
+    protected abstract TestUser readNext() throws IOException;
+
+    /**
+     * Release the underlying source; called once, at the end or on {@link #close()}
+     */
+    protected void release() throws IOException {
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Failed to read test users", e);
+            }
+            if (next == null) {
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public TestUser next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TestUser user = next;
+        next = null;
+        return user;
+    }
+
+    @Override
+    public void close() {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            release();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.chirangv.data;
+
+import com.chirangv.utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Factories for {@link UserStream}s and for adapting them to TestNG data providers.
+ *
+ * A source is either "synthetic" or the path of a .json, .ndjson/.jsonl or .csv file, looked
+ * up on the classpath first and then on the file system.
+ *
+ * Configuration (config.properties):
+ * - scale.source: source of the users for scale runs (default synthetic)
+ * - scale.users: maximum number of users to stream (default 1000)
+ * - scale.seed: seed of the synthetic generator (default 42)
+ */
+public final class UserStreams {
+
+    private UserStreams() {
+    }
+
+    /**
+     * Open the stream configured for scale runs
+     */
+    public static UserStream fromConfig() {
+        long limit = Long.parseLong(ConfigReader.getProperty("scale.users", "1000"));
+        String source = ConfigReader.getProperty("scale.source", "synthetic");
+        if ("synthetic".equalsIgnoreCase(source)) {
+            return synthetic(Long.parseLong(ConfigReader.getProperty("scale.seed", "42")), limit);
+        }
+        return limit(open(source), limit);
+    }
+
+    /**
+     * Open a file or classpath resource, choosing the format by its extension
+     */
+    public static UserStream open(String location) {
+        String name = location.toLowerCase(Locale.ROOT);
+        Reader reader = reader(location);
+        if (name.endsWith(".csv")) {
+            return new CsvUserStream(reader);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new NdjsonUserStream(reader);
+        }
+        if (name.endsWith(".json")) {
+            return new JsonUserStream(reader);
+        }
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // nothing was read
+        }
+        throw new IllegalArgumentException("Unsupported user source: " + location
+                + " (expected synthetic, .json, .ndjson, .jsonl or .csv)");
+    }
+
+    public static UserStream json(Reader reader) {
+        return new JsonUserStream(reader);
+    }
+
+    public static UserStream ndjson(Reader reader) {
+        return new NdjsonUserStream(reader);
+    }
+
+    public static UserStream csv(Reader reader) {
+        return new CsvUserStream(reader);
+    }
+
+    /**
+     * Generate count reproducible users from a seed
+     */
+    public static UserStream synthetic(long seed, long count) {
+        return new SyntheticUserStream(seed, count);
+    }
+
+    /**
+     * The user a synthetic stream with this seed yields at the given zero-based position
+     */
+    public static TestUser syntheticUser(long seed, long index) {
+        return SyntheticUserStream.generate(seed, index);
+    }
+
+    /**
+     * Position of a synthetic user by email, or -1 if no synthetic stream yields that email
+     */
+    public static long syntheticIndexOf(String email) {
+        return SyntheticUserStream.indexOf(email);
+    }
+
+    /**
+     * Stop a stream after at most max users, closing its source early
+     */
+    public static UserStream limit(UserStream stream, long max) {
+        return new UserStream() {
+            private long read;
+
+            @Override
+            protected TestUser readNext() {
+                if (read >= max || !stream.hasNext()) {
+                    return null;
+                }
+                read++;
+                return stream.next();
+            }
+
+            @Override
+            protected void release() {
+                stream.close();
+            }
+        };
+    }
+
+    /**
+     * Adapt a stream to a TestNG data provider; each row holds one {@link TestUser}
+     */
+    public static Iterator<Object[]> asRows(UserStream stream) {
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return stream.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{stream.next()};
+            }
+        };
+    }
+
+    private static Reader reader(String location) {
+        InputStream resource = UserStreams.class.getClassLoader().getResourceAsStream(location);
+        if (resource != null) {
+            return new InputStreamReader(resource, StandardCharsets.UTF_8);
+        }
+        Path path = Paths.get(location);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("User source not found on the classpath or disk: " + location);
+        }
+        try {
+            return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open user source: " + location, e);
+        }
+    }
+}
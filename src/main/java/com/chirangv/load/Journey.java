@@ -0,0 +1,14 @@
+package com.chirangv.load;
+
+/**
+ * A user flow driven through the page objects, run once per iteration in a fresh context
+ */
+public interface Journey {
+
+    String getName();
+
+    /**
+     * Run the flow; wrap each timed part in {@link JourneyContext#step}. Throwing fails the iteration.
+     */
+    void run(JourneyContext context);
+}
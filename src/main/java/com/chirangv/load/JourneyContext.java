@@ -0,0 +1,57 @@
+package com.chirangv.load;
+
+import com.chirangv.data.TestUser;
+import com.microsoft.playwright.Page;
+
+import java.util.function.Supplier;
+
+/**
+ * What one journey iteration works with: its page, its user and the step timer
+ */
+public class JourneyContext {
+    private final Page page;
+    private final TestUser user;
+    private final String baseUrl;
+    private final LoadStats stats;
+
+    JourneyContext(Page page, TestUser user, String baseUrl, LoadStats stats) {
+        this.page = page;
+        this.user = user;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    public TestUser getUser() {
+        return user;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Run and time one named step; a step that throws is counted as an error and ends the journey
+     */
+    public <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            stats.recordStep(name, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | AssertionError e) {
+            stats.recordStepError(name, e);
+            throw e;
+        }
+    }
+
+    public void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
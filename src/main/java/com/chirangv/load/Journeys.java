@@ -0,0 +1,66 @@
+package com.chirangv.load;
+
+import com.chirangv.pages.DeveloperPage;
+import com.chirangv.pages.HomePage;
+import com.chirangv.pages.LoginPage;
+import com.microsoft.playwright.Page;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Built-in journeys, selected by name with load.journey
+ */
+public final class Journeys {
+    private static final Map<String, Journey> journeys = new LinkedHashMap<>();
+
+    static {
+        register(new Journey() {
+            @Override
+            public String getName() {
+                return "browse-login-developer";
+            }
+
+            @Override
+            public void run(JourneyContext context) {
+                Page page = context.getPage();
+                context.step("home", () -> new HomePage(page).navigateToHome(context.getBaseUrl()));
+                LoginPage loginPage = context.step("login page", () ->
+                        new LoginPage(page).navigateToLogin(context.getBaseUrl()));
+                context.step("login", () -> {
+                    loginPage.login(context.getUser().getEmail(), context.getUser().getPassword());
+                    page.waitForURL(url -> !url.contains("/login"));
+                });
+                context.step("developer", () -> new DeveloperPage(page).navigateToDeveloper(context.getBaseUrl()));
+            }
+        });
+        register(new Journey() {
+            @Override
+            public String getName() {
+                return "browse";
+            }
+
+            @Override
+            public void run(JourneyContext context) {
+                Page page = context.getPage();
+                context.step("home", () -> new HomePage(page).navigateToHome(context.getBaseUrl()));
+                context.step("developer", () -> new DeveloperPage(page).navigateToDeveloper(context.getBaseUrl()));
+            }
+        });
+    }
+
+    private Journeys() {
+    }
+
+    public static void register(Journey journey) {
+        journeys.put(journey.getName(), journey);
+    }
+
+    public static Journey get(String name) {
+        Journey journey = journeys.get(name);
+        if (journey == null) {
+            throw new IllegalArgumentException("Unknown journey: " + name + " (known: " + journeys.keySet() + ")");
+        }
+        return journey;
+    }
+}
@@ -0,0 +1,79 @@
+package com.chirangv.load;
+
+import com.chirangv.data.TestUser;
+import com.chirangv.data.UserStream;
+import com.chirangv.data.UserStreams;
+import com.chirangv.server.StandInServer;
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.GsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Command-line entry point of load mode. Users come from the scale data source (see
+ * {@link UserStreams}), cycling when it runs out; the report is written to
+ * load.reportDir/load-&lt;timestamp&gt;.json.
+ *
+ * Usage: mvn exec:java -Dexec.mainClass=com.chirangv.load.LoadMain -Dexec.classpathScope=test
+ * -Dload.users=20 -Dload.arrivalRate=5 -Dload.durationSeconds=120 -Dstandin.enabled=true
+ */
+public final class LoadMain {
+    private static final Logger logger = LoggerFactory.getLogger(LoadMain.class);
+
+    private LoadMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Per-page metrics attachments and budgets are for functional runs; opt in with load.pageMetrics
+        ConfigReader.overrideProperty("perf.metrics", ConfigReader.getProperty("load.pageMetrics", "false"));
+
+        StandInServer server = null;
+        if (ConfigReader.getBooleanProperty("standin.enabled", false)) {
+            server = StandInServer.fromConfig().start();
+            ConfigReader.overrideProperty("baseUrl", server.getBaseUrl());
+        }
+        try {
+            LoadProfile profile = LoadProfile.fromConfig();
+            Journey journey = Journeys.get(ConfigReader.getProperty("load.journey", "browse-login-developer"));
+            LoadStats stats = new LoadRunner(profile).run(journey, cyclingUsers());
+
+            Path report = Paths.get(ConfigReader.getProperty("load.reportDir", "target/load"),
+                    "load-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json");
+            Files.createDirectories(report.getParent());
+            Files.write(report, new GsonBuilder().setPrettyPrinting().create()
+                    .toJson(stats.toJson(profile, journey.getName(), ConfigReader.getBaseUrl()))
+                    .getBytes(StandardCharsets.UTF_8));
+            logger.info("Load report written to " + report);
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    private static Supplier<TestUser> cyclingUsers() {
+        return new Supplier<TestUser>() {
+            private UserStream stream = UserStreams.fromConfig();
+
+            @Override
+            public synchronized TestUser get() {
+                if (!stream.hasNext()) {
+                    stream = UserStreams.fromConfig();
+                    if (!stream.hasNext()) {
+                        throw new IllegalStateException("The scale data source has no users");
+                    }
+                }
+                return stream.next();
+            }
+        };
+    }
+}
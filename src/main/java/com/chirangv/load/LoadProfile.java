@@ -0,0 +1,64 @@
+package com.chirangv.load;
+
+import com.chirangv.utils.ConfigReader;
+
+/**
+ * Shape of a load run.
+ *
+ * Configuration (config.properties):
+ * - load.users: concurrent virtual users, each with its own browser and a fresh context per journey
+ * - load.rampUpSeconds: time over which the users start, evenly spaced
+ * - load.arrivalRate: journeys started per second across all users (open model); 0 lets
+ *   every user start its next journey as soon as the last one ends (closed model)
+ * - load.durationSeconds: how long new journeys are started; running ones are finished
+ */
+public class LoadProfile {
+    private final int users;
+    private final int rampUpSeconds;
+    private final double arrivalRate;
+    private final int durationSeconds;
+
+    public LoadProfile(int users, int rampUpSeconds, double arrivalRate, int durationSeconds) {
+        if (users < 1 || durationSeconds < 1) {
+            throw new IllegalArgumentException("load.users and load.durationSeconds must be at least 1");
+        }
+        this.users = users;
+        this.rampUpSeconds = Math.max(0, rampUpSeconds);
+        this.arrivalRate = Math.max(0, arrivalRate);
+        this.durationSeconds = durationSeconds;
+    }
+
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                ConfigReader.getIntProperty("load.users", 4),
+                ConfigReader.getIntProperty("load.rampUpSeconds", 10),
+                Double.parseDouble(ConfigReader.getProperty("load.arrivalRate", "0")),
+                ConfigReader.getIntProperty("load.durationSeconds", 60));
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getRampUpSeconds() {
+        return rampUpSeconds;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public boolean isOpenModel() {
+        return arrivalRate > 0;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return users + " users, " + rampUpSeconds + " s ramp-up, "
+                + (isOpenModel() ? arrivalRate + " journeys/s" : "closed loop") + ", " + durationSeconds + " s";
+    }
+}
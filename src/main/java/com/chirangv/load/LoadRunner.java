@@ -0,0 +1,138 @@
+package com.chirangv.load;
+
+import com.chirangv.browser.BrowserLease;
+import com.chirangv.browser.BrowserPool;
+import com.chirangv.data.TestUser;
+import com.chirangv.utils.ConfigReader;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives a {@link Journey} with many concurrent virtual users.
+ *
+ * Every user is a thread that leases its own browser from a dedicated {@link BrowserPool}
+ * (Playwright objects must stay on one thread) and runs each journey in a fresh context. In
+ * the open model a pacer thread schedules journeys at load.arrivalRate and idle users pick
+ * them up; arrivals that find every user busy for longer than a second are counted as
+ * missed instead of piling up.
+ */
+public class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadProfile profile;
+
+    public LoadRunner(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Run the journey for the profile's duration and wait for every started journey to end
+     */
+    public LoadStats run(Journey journey, Supplier<TestUser> users) {
+        String baseUrl = ConfigReader.getBaseUrl();
+        long start = System.nanoTime();
+        long end = start + profile.getDurationSeconds() * SECOND;
+        LoadStats stats = new LoadStats(start, profile.getRampUpSeconds() + profile.getDurationSeconds() + 600);
+        BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>(Math.max(1, profile.getUsers()));
+
+        logger.info("Load run " + journey.getName() + " against " + baseUrl + ": " + profile);
+        BrowserPool pool = new BrowserPool(ConfigReader.getBrowser(), profile.getUsers(), Integer.MAX_VALUE,
+                ConfigReader.getIntProperty("browserPool.leaseTimeout", 120000));
+        List<Thread> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < profile.getUsers(); i++) {
+                long startAt = start + (long) profile.getRampUpSeconds() * SECOND * i / profile.getUsers();
+                Thread worker = new Thread(() -> runUser(pool, journey, users, baseUrl, stats, arrivals, startAt, end),
+                        "load-user-" + (i + 1));
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+            if (profile.isOpenModel()) {
+                pace(arrivals, stats, start, end);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(Thread::interrupt);
+        } finally {
+            stats.finish(System.nanoTime());
+            pool.shutdown();
+        }
+        logger.info("Load run finished:\n" + stats.summary());
+        return stats;
+    }
+
+    private void pace(BlockingQueue<Long> arrivals, LoadStats stats, long start, long end) throws InterruptedException {
+        long interval = (long) (SECOND / profile.getArrivalRate());
+        for (long due = start; due < end; due += interval) {
+            LockSupport.parkNanos(due - System.nanoTime());
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (!arrivals.offer(due, 1, TimeUnit.SECONDS)) {
+                stats.recordMissedArrival();
+            }
+        }
+    }
+
+    private void runUser(BrowserPool pool, Journey journey, Supplier<TestUser> users, String baseUrl,
+                         LoadStats stats, BlockingQueue<Long> arrivals, long startAt, long end) {
+        LockSupport.parkNanos(startAt - System.nanoTime());
+        try (BrowserLease lease = pool.acquire()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                long due;
+                if (profile.isOpenModel()) {
+                    Long next = arrivals.poll(Math.max(0, end - System.nanoTime()) + SECOND, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        return;
+                    }
+                    due = Math.max(next, startAt);
+                } else {
+                    due = System.nanoTime();
+                    if (due >= end) {
+                        return;
+                    }
+                }
+                runJourney(lease.getBrowser(), journey, users.get(), baseUrl, stats, due);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Virtual user " + Thread.currentThread().getName() + " stopped: " + e.getMessage());
+        }
+    }
+
+    private void runJourney(Browser browser, Journey journey, TestUser user, String baseUrl, LoadStats stats, long due) {
+        long started = System.nanoTime();
+        stats.recordJourneyStart(due, started);
+        boolean success = false;
+        BrowserContext context = browser.newContext(new Browser.NewContextOptions().setViewportSize(
+                ConfigReader.getIntProperty("viewport.width", 1920), ConfigReader.getIntProperty("viewport.height", 1080)));
+        try {
+            Page page = context.newPage();
+            page.setDefaultTimeout(ConfigReader.getTimeout());
+            journey.run(new JourneyContext(page, user, baseUrl, stats));
+            success = true;
+        } catch (RuntimeException | AssertionError e) {
+            logger.debug("Journey failed for " + user.getUsername() + ": " + e.getMessage());
+        } finally {
+            context.close();
+            stats.recordJourney(due, System.nanoTime(), success);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.chirangv.load;
+
+import com.chirangv.metrics.LatencyHistogram;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Results of a load run: latency histograms per step and per journey, errors, and the
+ * number of journeys started, completed and failed in each second of the run.
+ *
+ * Journey latency is measured from when the journey was due to start, so in an open-model
+ * run time spent waiting for a free user counts; that wait is also reported on its own.
+ */
+public class LoadStats {
+    private static final int MAX_ERROR_KINDS = 50;
+
+    private final long startNanos;
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> stepErrors = new ConcurrentHashMap<>();
+    private final Map<String, Long> stepOrder = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentSkipListMap<>();
+    private final LatencyHistogram journeys = new LatencyHistogram();
+    private final LatencyHistogram startDelay = new LatencyHistogram();
+    private final AtomicLong failedJourneys = new AtomicLong();
+    private final AtomicLong missedArrivals = new AtomicLong();
+    private final AtomicLongArray startedPerSecond;
+    private final AtomicLongArray completedPerSecond;
+    private final AtomicLongArray failedPerSecond;
+    private final AtomicLong stepSequence = new AtomicLong();
+    private volatile long endNanos;
+
+    LoadStats(long startNanos, int maxSeconds) {
+        this.startNanos = startNanos;
+        this.startedPerSecond = new AtomicLongArray(maxSeconds);
+        this.completedPerSecond = new AtomicLongArray(maxSeconds);
+        this.failedPerSecond = new AtomicLongArray(maxSeconds);
+    }
+
+    void recordStep(String step, long nanos) {
+        stepOrder.computeIfAbsent(step, key -> stepSequence.getAndIncrement());
+        steps.computeIfAbsent(step, key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    void recordStepError(String step, Throwable error) {
+        stepOrder.computeIfAbsent(step, key -> stepSequence.getAndIncrement());
+        stepErrors.computeIfAbsent(step, key -> new AtomicLong()).incrementAndGet();
+        String message = error.getMessage() == null ? "" : error.getMessage().split("\n")[0];
+        String kind = step + ": " + error.getClass().getSimpleName() + " " + message;
+        if (kind.length() > 200) {
+            kind = kind.substring(0, 200);
+        }
+        AtomicLong counter = errors.get(kind);
+        if (counter == null && errors.size() >= MAX_ERROR_KINDS) {
+            kind = step + ": other errors";
+        }
+        errors.computeIfAbsent(kind, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    void recordJourneyStart(long dueNanos, long startedNanos) {
+        startDelay.recordNanos(startedNanos - dueNanos);
+        increment(startedPerSecond, startedNanos);
+    }
+
+    void recordJourney(long dueNanos, long endedNanos, boolean success) {
+        journeys.recordNanos(endedNanos - dueNanos);
+        increment(success ? completedPerSecond : failedPerSecond, endedNanos);
+        if (!success) {
+            failedJourneys.incrementAndGet();
+        }
+    }
+
+    void recordMissedArrival() {
+        missedArrivals.incrementAndGet();
+    }
+
+    void finish(long nanos) {
+        endNanos = nanos;
+    }
+
+    public LatencyHistogram getJourneyLatency() {
+        return journeys;
+    }
+
+    public LatencyHistogram getStepLatency(String step) {
+        return steps.get(step);
+    }
+
+    public long getFailedJourneys() {
+        return failedJourneys.get();
+    }
+
+    /**
+     * Completed journeys per second over the whole run
+     */
+    public double getThroughput() {
+        double seconds = Math.max(1e-9, ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1e9);
+        return (journeys.getCount() - failedJourneys.get()) / seconds;
+    }
+
+    public JsonObject toJson(LoadProfile profile, String journeyName, String baseUrl) {
+        JsonObject json = new JsonObject();
+        json.addProperty("journey", journeyName);
+        json.addProperty("baseUrl", baseUrl);
+        json.addProperty("profile", profile.toString());
+        json.addProperty("journeys", journeys.getCount());
+        json.addProperty("failedJourneys", failedJourneys.get());
+        json.addProperty("missedArrivals", missedArrivals.get());
+        json.addProperty("throughputPerSecond", Math.round(getThroughput() * 100) / 100.0);
+        json.add("journeyLatency", journeys.toJson());
+        json.add("startDelay", startDelay.toJson());
+
+        JsonObject stepJson = new JsonObject();
+        for (String step : orderedSteps()) {
+            LatencyHistogram histogram = steps.get(step);
+            JsonObject entry = histogram == null ? new JsonObject() : histogram.toJson();
+            AtomicLong stepErrorCount = stepErrors.get(step);
+            entry.addProperty("errors", stepErrorCount == null ? 0 : stepErrorCount.get());
+            stepJson.add(step, entry);
+        }
+        json.add("steps", stepJson);
+
+        JsonObject errorJson = new JsonObject();
+        errors.forEach((kind, count) -> errorJson.addProperty(kind, count.get()));
+        json.add("errors", errorJson);
+
+        JsonArray timeline = new JsonArray();
+        int lastSecond = secondOf(endNanos == 0 ? System.nanoTime() : endNanos);
+        for (int second = 0; second <= lastSecond && second < startedPerSecond.length(); second++) {
+            JsonObject point = new JsonObject();
+            point.addProperty("second", second);
+            point.addProperty("started", startedPerSecond.get(second));
+            point.addProperty("completed", completedPerSecond.get(second));
+            point.addProperty("failed", failedPerSecond.get(second));
+            timeline.add(point);
+        }
+        json.add("timeline", timeline);
+        return json;
+    }
+
+    /**
+     * Table of step latencies for the log
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-28s %8s %7s %9s %9s %9s %9s%n", "step", "count", "errors", "p50 ms", "p95 ms",
+                "p99 ms", "max ms"));
+        for (String step : orderedSteps()) {
+            appendRow(summary, step, steps.get(step), stepErrors.get(step));
+        }
+        appendRow(summary, "journey (incl. start delay)", journeys, failedJourneys);
+        summary.append(String.format("throughput %.2f journeys/s, %d missed arrivals", getThroughput(),
+                missedArrivals.get()));
+        return summary.toString();
+    }
+
+    private static void appendRow(StringBuilder summary, String name, LatencyHistogram histogram, AtomicLong errorCount) {
+        LatencyHistogram values = histogram == null ? new LatencyHistogram() : histogram;
+        summary.append(String.format("%-28s %8d %7d %9.1f %9.1f %9.1f %9.1f%n", name, values.getCount(),
+                errorCount == null ? 0 : errorCount.get(), values.getPercentileMillis(50),
+                values.getPercentileMillis(95), values.getPercentileMillis(99), values.getMaxMillis()));
+    }
+
+    private Iterable<String> orderedSteps() {
+        Map<Long, String> ordered = new ConcurrentSkipListMap<>();
+        stepOrder.forEach((step, position) -> ordered.put(position, step));
+        return ordered.values();
+    }
+
+    private void increment(AtomicLongArray perSecond, long nanos) {
+        int second = secondOf(nanos);
+        if (second >= 0 && second < perSecond.length()) {
+            perSecond.incrementAndGet(second);
+        }
+    }
+
+    private int secondOf(long nanos) {
+        return (int) ((nanos - startNanos) / 1_000_000_000L);
+    }
+}
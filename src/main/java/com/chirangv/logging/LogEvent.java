@@ -0,0 +1,76 @@
+package com.chirangv.logging;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One logging call, kept as its message pattern and its arguments rendered to strings; the
+ * message is only formatted, and masked, when the event is written.
+ *
+ * Arguments are rendered when the event is created, so a buffered event neither keeps page
+ * objects or other test state alive nor shows state they changed to later.
+ */
+final class LogEvent {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final long timeMillis;
+    private final Level level;
+    private final String loggerName;
+    private final String threadName;
+    private final String pattern;
+    private final String[] arguments;
+    private final Throwable throwable;
+
+    LogEvent(long timeMillis, Level level, String loggerName, String threadName, String pattern,
+             Object[] arguments, Throwable throwable) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.pattern = pattern;
+        this.arguments = render(arguments);
+        this.throwable = throwable;
+    }
+
+    /**
+     * The event as a log line, e.g. "12:00:01.250 [TestNG-1] INFO com.chirangv.pages.BasePage - Clicked ..."
+     */
+    String format() {
+        String message = arguments == null || arguments.length == 0
+                ? pattern : MessageFormatter.basicArrayFormat(pattern, (Object[]) arguments);
+        StringBuilder line = new StringBuilder(TIME.format(Instant.ofEpochMilli(timeMillis)))
+                .append(" [").append(threadName).append("] ")
+                .append(level).append(' ')
+                .append(loggerName).append(" - ")
+                .append(TestLog.mask(message));
+        if (throwable != null) {
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            line.append(System.lineSeparator()).append(TestLog.mask(trace.toString().trim()));
+        }
+        return line.toString();
+    }
+
+    /**
+     * The arguments as they would appear in the message, arrays included
+     */
+    private static String[] render(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        String[] rendered = new String[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            rendered[i] = argument != null && argument.getClass().isArray()
+                    ? MessageFormatter.format("{}", argument).getMessage() : String.valueOf(argument);
+        }
+        return rendered;
+    }
+}
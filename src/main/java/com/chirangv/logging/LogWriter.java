@@ -0,0 +1,56 @@
+package com.chirangv.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes log output to stderr from a background thread so callers do not wait on the stream.
+ * When the queue is full the caller writes the line itself rather than drop it; whatever is
+ * still queued at JVM shutdown is written by a shutdown hook.
+ */
+final class LogWriter {
+    private static final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(8192);
+    private static final PrintStream out = System.err;
+
+    static {
+        Thread writer = new Thread(LogWriter::run, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(LogWriter::drain, "log-writer-shutdown"));
+    }
+
+    private LogWriter() {
+    }
+
+    /**
+     * Queue an event or an already formatted block of text
+     */
+    static void write(Object entry) {
+        if (!queue.offer(entry)) {
+            print(entry);
+        }
+    }
+
+    private static void run() {
+        try {
+            while (true) {
+                print(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain() {
+        Object entry;
+        while ((entry = queue.poll()) != null) {
+            print(entry);
+        }
+        out.flush();
+    }
+
+    private static void print(Object entry) {
+        out.println(entry instanceof LogEvent ? ((LogEvent) entry).format() : entry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.chirangv.logging;
+
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Per-test log buffer behind the framework's SLF4J binding.
+ *
+ * Between {@link #start(String)} and {@link #finish(boolean)}, log events from the test's
+ * thread go into a bounded ring buffer instead of stderr: a passing test pays for turning
+ * each argument into a string (String.valueOf) and storing the event, never for assembling,
+ * masking or writing the message, and the oldest events are dropped when the buffer is
+ * full. A failed test's buffer is formatted, masked and written out.
+ * Outside a test, events are written straight away by a background writer.
+ *
+ * This is set up before ConfigReader is available (ConfigReader logs), so the settings are
+ * read from system properties and then from config.properties on the classpath:
+ * - log.level: lowest level that is logged at all (default info)
+ * - log.buffered: buffer events per test (default true)
+ * - log.bufferSize: events kept per test (default 1000)
+ * - log.maskKeys: keys whose values are masked in messages, e.g. password=... (default
+ *   password,passwd,secret,token,sid,authorization,cookie)
+ */
+public final class TestLog {
+    static final String MASK = "****";
+    private static final Object SECRET = new Object() {
+        @Override
+        public String toString() {
+            return MASK;
+        }
+    };
+
+    private static final Properties fileSettings = loadSettings();
+    private static final Level threshold = Level.valueOf(setting("log.level", "info").toUpperCase(Locale.ROOT));
+    private static final boolean buffered = Boolean.parseBoolean(setting("log.buffered", "true"));
+    private static final int bufferSize = Integer.parseInt(setting("log.bufferSize", "1000"));
+    private static final String maskKeys = setting("log.maskKeys", "password,passwd,secret,token,sid,authorization,cookie")
+            .trim().replaceAll("\\s*,\\s*", "|");
+    private static final Pattern maskPattern = Pattern.compile("(?i)\\b("
+            + maskKeys + ")(\"?\\s*[=:]\\s*\"?)[^\\s,;&\"]+");
+    // A password input, or an input whose name or id contains one of the mask keys
+    private static final Pattern secretFieldPattern = Pattern.compile("(?i)type\\s*=\\s*['\"]?password"
+            + "|\\b(name|id)\\s*[*^$|~]?=\\s*['\"]?[^'\"\\]]*(" + maskKeys + ")");
+
+    private static final ThreadLocal<RingBuffer> current = new ThreadLocal<>();
+
+    private TestLog() {
+    }
+
+    /**
+     * Start buffering the current thread's events for a test
+     */
+    public static void start(String testName) {
+        if (buffered) {
+            current.set(new RingBuffer(testName, bufferSize));
+        }
+    }
+
+    /**
+     * Stop buffering for the current thread's test; a failed test's events are written to stderr
+     *
+     * @return the failed test's log, or null if the test passed or nothing was buffered
+     */
+    public static String finish(boolean failed) {
+        RingBuffer buffer = current.get();
+        current.remove();
+        if (buffer == null || !failed || buffer.size() == 0) {
+            return null;
+        }
+        String log = buffer.format();
+        LogWriter.write(log);
+        return log;
+    }
+
+    /**
+     * Wrap a sensitive logging argument so it is never written, e.g.
+     * {@code logger.info("Filled {} with {}", field, TestLog.secret(password))}
+     */
+    public static Object secret(Object value) {
+        return SECRET;
+    }
+
+    /**
+     * Check whether a selector targets a field whose value must not be logged: a password
+     * input, or one whose name or id contains a log.maskKeys key
+     */
+    public static boolean isSecretField(String selector) {
+        return selector != null && secretFieldPattern.matcher(selector).find();
+    }
+
+    static boolean isEnabled(Level level) {
+        return level.toInt() >= threshold.toInt();
+    }
+
+    /**
+     * Buffer an event for the current test
+     *
+     * @return false if the thread is not running a test
+     */
+    static boolean offer(LogEvent event) {
+        RingBuffer buffer = current.get();
+        if (buffer == null) {
+            return false;
+        }
+        buffer.add(event);
+        return true;
+    }
+
+    /**
+     * Replace the values of sensitive keys in a message
+     */
+    static String mask(String message) {
+        return message == null ? null : maskPattern.matcher(message).replaceAll("$1$2" + MASK);
+    }
+
+    private static String setting(String key, String defaultValue) {
+        return System.getProperty(key, fileSettings.getProperty(key, defaultValue));
+    }
+
+    private static Properties loadSettings() {
+        Properties properties = new Properties();
+        try (InputStream input = TestLog.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read logging settings from config.properties: " + e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * Fixed-size buffer that keeps the most recent events of one test
+     */
+    private static final class RingBuffer {
+        private final String testName;
+        private final LogEvent[] events;
+        private int next;
+        private long total;
+
+        RingBuffer(String testName, int capacity) {
+            this.testName = testName;
+            this.events = new LogEvent[Math.max(1, capacity)];
+        }
+
+        void add(LogEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            total++;
+        }
+
+        int size() {
+            return (int) Math.min(total, events.length);
+        }
+
+        String format() {
+            List<String> lines = new ArrayList<>();
+            lines.add("---- Log of failed test " + testName + " ----");
+            if (total > events.length) {
+                lines.add("(" + (total - events.length) + " earlier events dropped)");
+            }
+            int start = total > events.length ? next : 0;
+            for (int i = 0; i < size(); i++) {
+                lines.add(events[(start + i) % events.length].format());
+            }
+            lines.add("---- End of log of " + testName + " ----");
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.chirangv.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+/**
+ * Logger that hands events to the current test's buffer, or to the background writer
+ */
+class TestLogger extends LegacyAbstractLogger {
+
+    TestLogger(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return TestLog.isEnabled(Level.TRACE);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return TestLog.isEnabled(Level.DEBUG);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return TestLog.isEnabled(Level.INFO);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return TestLog.isEnabled(Level.WARN);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return TestLog.isEnabled(Level.ERROR);
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String pattern, Object[] arguments,
+                                               Throwable throwable) {
+        LogEvent event = new LogEvent(System.currentTimeMillis(), level, name, Thread.currentThread().getName(),
+                pattern, arguments, throwable);
+        if (!TestLog.offer(event)) {
+            LogWriter.write(event);
+        }
+    }
+}
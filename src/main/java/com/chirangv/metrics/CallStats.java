@@ -0,0 +1,187 @@
+package com.chirangv.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of Playwright calls, broken down by operation (e.g. locator.isVisible), by
+ * selector and by the page-object method that made the call.
+ *
+ * Every call is recorded in the suite-wide stats and, when the calling thread has started
+ * a test with {@link #startTest()}, in that test's stats as well.
+ */
+public class CallStats {
+    private static final CallStats suite = new CallStats();
+    private static final ThreadLocal<CallStats> currentTest = new ThreadLocal<>();
+
+    private final Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> selectors = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> callers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Stats of every call made during the run
+     */
+    public static CallStats getSuiteStats() {
+        return suite;
+    }
+
+    /**
+     * Start collecting a separate copy of the calls made on this thread
+     */
+    public static void startTest() {
+        currentTest.set(new CallStats());
+    }
+
+    /**
+     * Stop collecting for the test running on this thread
+     *
+     * @return the test's stats, or null if no test was started
+     */
+    public static CallStats finishTest() {
+        CallStats stats = currentTest.get();
+        currentTest.remove();
+        return stats;
+    }
+
+    /**
+     * Record one call in the suite stats and in those of the current test
+     *
+     * @param selector the selector the call acted on, or null
+     * @param caller   the page-object method that made the call, or null
+     */
+    static void record(String operation, String selector, String caller, long nanos, boolean failed) {
+        suite.add(operation, selector, caller, nanos, failed);
+        CallStats test = currentTest.get();
+        if (test != null) {
+            test.add(operation, selector, caller, nanos, failed);
+        }
+    }
+
+    private void add(String operation, String selector, String caller, long nanos, boolean failed) {
+        operations.computeIfAbsent(operation, key -> new LatencyHistogram()).recordNanos(nanos);
+        if (selector != null) {
+            selectors.computeIfAbsent(selector, key -> new LatencyHistogram()).recordNanos(nanos);
+        }
+        if (caller != null) {
+            callers.computeIfAbsent(caller, key -> new LatencyHistogram()).recordNanos(nanos);
+        }
+        if (failed) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public long getCallCount() {
+        long count = 0;
+        for (LatencyHistogram histogram : operations.values()) {
+            count += histogram.getCount();
+        }
+        return count;
+    }
+
+    public Map<String, LatencyHistogram> getOperations() {
+        return new TreeMap<>(operations);
+    }
+
+    public Map<String, LatencyHistogram> getSelectors() {
+        return new TreeMap<>(selectors);
+    }
+
+    /**
+     * Histograms per page-object method, e.g. "LoginPage.login"
+     */
+    public Map<String, LatencyHistogram> getPageObjectMethods() {
+        return new TreeMap<>(callers);
+    }
+
+    /**
+     * Calls of an operation that threw
+     */
+    public long getErrors(String operation) {
+        LongAdder count = errors.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * The selectors that took the most time in total, slowest first
+     */
+    public List<Map.Entry<String, LatencyHistogram>> getSlowestSelectors(int limit) {
+        List<Map.Entry<String, LatencyHistogram>> ranked = new ArrayList<>(getSelectors().entrySet());
+        ranked.sort(Comparator.comparingDouble(
+                (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed());
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    public JsonObject toJson(int slowestSelectors) {
+        JsonObject json = new JsonObject();
+        json.addProperty("calls", getCallCount());
+
+        JsonObject operationsJson = new JsonObject();
+        for (Map.Entry<String, LatencyHistogram> entry : getOperations().entrySet()) {
+            JsonObject operation = entry.getValue().toJson();
+            operation.addProperty("errors", getErrors(entry.getKey()));
+            operationsJson.add(entry.getKey(), operation);
+        }
+        json.add("operations", operationsJson);
+        json.add("selectors", histograms(getSelectors()));
+        json.add("pageObjectMethods", histograms(getPageObjectMethods()));
+
+        JsonArray slowest = new JsonArray();
+        for (Map.Entry<String, LatencyHistogram> entry : getSlowestSelectors(slowestSelectors)) {
+            JsonObject selector = entry.getValue().toJson();
+            selector.addProperty("selector", entry.getKey());
+            slowest.add(selector);
+        }
+        json.add("slowestSelectors", slowest);
+        return json;
+    }
+
+    /**
+     * Human-readable report: operations, page-object methods and the slowest selectors
+     */
+    public String toReport(int slowestSelectors) {
+        StringBuilder report = new StringBuilder("Playwright calls: ").append(getCallCount()).append('\n');
+        report.append("\nBy operation:\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getOperations().entrySet()) {
+            report.append(line(entry.getKey(), entry.getValue()));
+            long failed = getErrors(entry.getKey());
+            if (failed > 0) {
+                report.append("  (").append(failed).append(" failed)");
+            }
+            report.append('\n');
+        }
+        report.append("\nBy page-object method:\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getPageObjectMethods().entrySet()) {
+            report.append(line(entry.getKey(), entry.getValue())).append('\n');
+        }
+        report.append("\nSlowest selectors (total time):\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getSlowestSelectors(slowestSelectors)) {
+            report.append(line(entry.getKey(), entry.getValue())).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String line(String name, LatencyHistogram histogram) {
+        return String.format("  %-60s total=%.1fms %s", name, histogram.getTotalMillis(), histogram);
+    }
+
+    private static JsonObject histograms(Map<String, LatencyHistogram> histograms) {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            json.add(entry.getKey(), entry.getValue().toJson());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,210 @@
+package com.chirangv.metrics;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wraps a {@link Page}, and the locators created from it, so that every call that goes to the
+ * browser is timed and recorded in {@link CallStats}.
+ *
+ * Each call is attributed to its operation, e.g. page.navigate or locator.isVisible, to the
+ * selector it acted on, and to the outermost method of a page-object class on the calling
+ * stack. Building locators and reading local state such as page.url() is not recorded.
+ */
+public class InstrumentedPage implements InvocationHandler {
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    // Page methods whose first argument is a selector
+    private static final Set<String> SELECTOR_METHODS = new HashSet<>(Arrays.asList(
+            "check", "click", "dblclick", "dispatchEvent", "dragAndDrop", "fill", "focus", "getAttribute",
+            "hover", "innerHTML", "innerText", "inputValue", "isChecked", "isDisabled", "isEditable",
+            "isEnabled", "isHidden", "isVisible", "press", "querySelector", "querySelectorAll",
+            "selectOption", "setChecked", "setInputFiles", "tap", "textContent", "type", "uncheck",
+            "waitForSelector"));
+
+    // Methods answered without a round trip to the browser
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList(
+            "accessibility", "clock", "context", "frames", "isClosed", "keyboard", "mainFrame", "mouse",
+            "opener", "page", "request", "setDefaultNavigationTimeout", "setDefaultTimeout", "touchscreen",
+            "url", "video", "viewportSize", "workers"));
+
+    private final Object target;
+    private final String kind;
+    private final String selector;
+    private final Class<?> pageObjectType;
+
+    private InstrumentedPage(Object target, String kind, String selector, Class<?> pageObjectType) {
+        this.target = target;
+        this.kind = kind;
+        this.selector = selector;
+        this.pageObjectType = pageObjectType;
+    }
+
+    /**
+     * Instrument a page; already instrumented pages are returned as-is
+     *
+     * @param pageObjectType calls are attributed to methods of this type and its subclasses
+     */
+    public static Page instrument(Page page, Class<?> pageObjectType) {
+        if (page == null || isInstrumented(page)) {
+            return page;
+        }
+        return (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[] {Page.class},
+                new InstrumentedPage(page, "page", null, pageObjectType));
+    }
+
+    public static boolean isInstrumented(Object object) {
+        return object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof InstrumentedPage;
+    }
+
+    /**
+     * Get the page behind the instrumentation, or the page itself if it is not instrumented
+     */
+    public static Page unwrap(Page page) {
+        return isInstrumented(page) ? (Page) ((InstrumentedPage) Proxy.getInvocationHandler(page)).target : page;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return args[0] != null && unwrapAny(args[0]) == target;
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "toString":
+                return "Instrumented(" + target + ")";
+            default:
+                break;
+        }
+
+        Object[] targetArgs = args;
+        if (args != null) {
+            targetArgs = args.clone();
+            for (int i = 0; i < targetArgs.length; i++) {
+                targetArgs[i] = unwrapAny(targetArgs[i]);
+            }
+        }
+
+        if (method.getReturnType() == Locator.class) {
+            return locator((Locator) call(method, targetArgs), describe(name, args));
+        }
+        if (LOCAL_METHODS.contains(name) || isListenerMethod(name)) {
+            return call(method, targetArgs);
+        }
+
+        String callSelector = selector;
+        if (callSelector == null && SELECTOR_METHODS.contains(name) && args != null && args[0] instanceof String) {
+            callSelector = (String) args[0];
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = call(method, targetArgs);
+            failed = false;
+            if ("all".equals(name) && result instanceof List) {
+                return locators((List<?>) result);
+            }
+            return result;
+        } finally {
+            CallStats.record(kind + "." + name, callSelector, caller(), System.nanoTime() - start, failed);
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Locator locator(Locator locator, String description) {
+        return (Locator) Proxy.newProxyInstance(Locator.class.getClassLoader(), new Class<?>[] {Locator.class},
+                new InstrumentedPage(locator, "locator", description, pageObjectType));
+    }
+
+    private List<Locator> locators(List<?> targets) {
+        List<Locator> wrapped = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            wrapped.add(locator((Locator) targets.get(i), selector + " >> nth=" + i));
+        }
+        return wrapped;
+    }
+
+    /**
+     * Selector text of a locator built by a method of this page or locator
+     */
+    private String describe(String name, Object[] args) {
+        Object first = args == null || args.length == 0 ? null : args[0];
+        String part;
+        switch (name) {
+            case "locator":
+                part = first instanceof String ? (String) first : describeLocator(first);
+                break;
+            case "first":
+                part = "nth=0";
+                break;
+            case "last":
+                part = "nth=-1";
+                break;
+            case "nth":
+                part = "nth=" + first;
+                break;
+            case "filter":
+                part = "filter";
+                break;
+            case "or":
+                return selector + " | " + describeLocator(first);
+            case "and":
+                return selector + " & " + describeLocator(first);
+            default:
+                part = first == null ? name : name.replaceFirst("^getBy", "").toLowerCase() + "=" + first;
+        }
+        return selector == null ? part : selector + " >> " + part;
+    }
+
+    private static String describeLocator(Object locator) {
+        if (isInstrumented(locator)) {
+            return ((InstrumentedPage) Proxy.getInvocationHandler(locator)).selector;
+        }
+        return String.valueOf(locator);
+    }
+
+    /**
+     * The outermost page-object method on the stack, e.g. "LoginPage.login"
+     */
+    private String caller() {
+        return stackWalker.walk(frames -> {
+            String outermost = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                if (pageObjectType.isAssignableFrom(frame.getDeclaringClass())) {
+                    outermost = frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName();
+                } else if (outermost != null) {
+                    break;
+                }
+            }
+            return outermost;
+        });
+    }
+
+    private static boolean isListenerMethod(String name) {
+        int prefix = name.startsWith("off") ? 3 : name.startsWith("on") ? 2 : -1;
+        return prefix > 0 && name.length() > prefix && Character.isUpperCase(name.charAt(prefix));
+    }
+
+    private static Object unwrapAny(Object object) {
+        return isInstrumented(object) ? ((InstrumentedPage) Proxy.getInvocationHandler(object)).target : object;
+    }
+}
@@ -0,0 +1,150 @@
+package com.chirangv.metrics;
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with about 1.5% precision from 1 microsecond to over an hour.
+ *
+ * Values are kept in microseconds: below 128 us each value has its own bucket, above that
+ * every power of two is split into 64 equal buckets. Memory is fixed (under 14 KB) no
+ * matter how many values are recorded, and any number of threads may record at once.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    static final long MAX_MICROS = (1L << 33) - 1;
+    static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record one latency measured with System.nanoTime()
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(millis * 1000);
+    }
+
+    private void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_MICROS));
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        totalMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add every value recorded by another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount > 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.addAndGet(other.count.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMicros.get() / 1000.0 / n;
+    }
+
+    public double getTotalMillis() {
+        return totalMicros.get() / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Value below which the given percentage of recorded values fall, e.g. 95 for p95
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        if (rank >= n) {
+            // The highest rank is the largest value, which is known exactly
+            return getMaxMillis();
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(midpoint(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", getCount());
+        json.addProperty("meanMs", round(getMeanMillis()));
+        json.addProperty("p50Ms", round(getPercentileMillis(50)));
+        json.addProperty("p95Ms", round(getPercentileMillis(95)));
+        json.addProperty("p99Ms", round(getPercentileMillis(99)));
+        json.addProperty("maxMs", round(getMaxMillis()));
+        json.addProperty("totalMs", round(getTotalMillis()));
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1fms p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms", getCount(),
+                getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99),
+                getMaxMillis());
+    }
+
+    /**
+     * Bucket of a value in microseconds
+     */
+    static int index(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Middle of the values a bucket holds, in microseconds
+     */
+    static double midpoint(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + ((1L << shift) - 1) / 2.0;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
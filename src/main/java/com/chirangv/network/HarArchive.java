@@ -0,0 +1,73 @@
+package com.chirangv.network;
+
+import com.chirangv.utils.ConfigReader;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Records and replays a context's traffic as HAR archives, one archive per test flow.
+ *
+ * Configuration (config.properties):
+ * - har.dir: where archives live (default src/test/resources/har, so they can be committed)
+ * - har.notFound: abort (strict, fully offline) or fallback (unmatched requests go live)
+ */
+public class HarArchive {
+    private static final Logger logger = LoggerFactory.getLogger(HarArchive.class);
+
+    private HarArchive() {
+    }
+
+    /**
+     * Attach recording or replay to a fresh context according to the run mode
+     *
+     * @param flow archive name, e.g. "HomePageTest/testHomePageLoads"
+     */
+    public static void apply(BrowserContext context, RunMode mode, String flow) {
+        Path archive = archivePath(flow);
+        switch (mode) {
+            case RECORD:
+                try {
+                    Files.createDirectories(archive.getParent());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot create HAR directory for " + archive, e);
+                }
+                // The archive is written when the context closes
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setUpdate(true)
+                        .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                        .setUpdateMode(HarMode.MINIMAL));
+                logger.info("Recording HAR: " + archive);
+                break;
+            case REPLAY:
+                boolean strict = !"fallback".equalsIgnoreCase(ConfigReader.getProperty("har.notFound", "abort"));
+                if (!Files.exists(archive)) {
+                    if (strict) {
+                        throw new IllegalStateException("No HAR recording for " + flow
+                                + " at " + archive + "; run once with -Dmode=record");
+                    }
+                    logger.warn("No HAR recording for " + flow + ", using the live site");
+                    return;
+                }
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setNotFound(strict ? HarNotFound.ABORT : HarNotFound.FALLBACK));
+                logger.info("Replaying HAR: " + archive);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Path archivePath(String flow) {
+        String safeName = flow.replaceAll("[^A-Za-z0-9._/-]", "_");
+        return Paths.get(ConfigReader.getProperty("har.dir", "src/test/resources/har"), safeName + ".har");
+    }
+}
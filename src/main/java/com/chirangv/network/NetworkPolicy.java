@@ -0,0 +1,101 @@
+package com.chirangv.network;
+
+import com.chirangv.utils.ConfigReader;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Which requests a page object lets through, blocks, or serves from the static asset cache.
+ *
+ * Defaults come from config.properties and can be overridden per page object by
+ * prefixing the key with its simple class name, e.g. network.LoginPage.block.resourceTypes:
+ * - network.block.resourceTypes: comma separated Playwright resource types to abort
+ * - network.block.urlPattern: regex; matching URLs are aborted
+ * - network.cache.resourceTypes: resource types served from the on-disk cache
+ */
+public class NetworkPolicy {
+    private static final NetworkPolicy ALLOW_ALL = new NetworkPolicy(
+            Collections.emptySet(), null, Collections.emptySet());
+    private static final Set<String> RENDERED_RESOURCE_TYPES = new LinkedHashSet<>(Arrays.asList("image", "media", "font"));
+
+    private final Set<String> blockedResourceTypes;
+    private final Pattern blockedUrlPattern;
+    private final Set<String> cachedResourceTypes;
+
+    public NetworkPolicy(Set<String> blockedResourceTypes, Pattern blockedUrlPattern,
+                         Set<String> cachedResourceTypes) {
+        this.blockedResourceTypes = Collections.unmodifiableSet(new LinkedHashSet<>(blockedResourceTypes));
+        this.blockedUrlPattern = blockedUrlPattern;
+        this.cachedResourceTypes = Collections.unmodifiableSet(new LinkedHashSet<>(cachedResourceTypes));
+    }
+
+    /**
+     * Policy that neither blocks nor caches anything
+     */
+    public static NetworkPolicy allowAll() {
+        return ALLOW_ALL;
+    }
+
+    /**
+     * Build the policy for a profile (a page object's simple class name), or the default
+     * policy when profile is null
+     */
+    public static NetworkPolicy fromConfig(String profile) {
+        String urlPattern = lookup(profile, "block.urlPattern");
+        return new NetworkPolicy(
+                splitList(lookup(profile, "block.resourceTypes")),
+                urlPattern.isEmpty() ? null : Pattern.compile(urlPattern),
+                splitList(lookup(profile, "cache.resourceTypes")));
+    }
+
+    public boolean isBlocked(String resourceType, String url) {
+        // Never block the document itself, the page under test must always load
+        if ("document".equals(resourceType)) {
+            return false;
+        }
+        return blockedResourceTypes.contains(resourceType)
+                || blockedUrlPattern != null && blockedUrlPattern.matcher(url).find();
+    }
+
+    public boolean isCacheable(String resourceType) {
+        return cachedResourceTypes.contains(resourceType);
+    }
+
+    /**
+     * Check whether the policy may block what the page paints, images, media or fonts, so
+     * paint timings such as LCP no longer describe the real page; a URL pattern may block
+     * anything, so it counts too
+     */
+    public boolean blocksRenderedContent() {
+        return blockedUrlPattern != null || !Collections.disjoint(blockedResourceTypes, RENDERED_RESOURCE_TYPES);
+    }
+
+    public boolean isAllowAll() {
+        return blockedResourceTypes.isEmpty() && blockedUrlPattern == null && cachedResourceTypes.isEmpty();
+    }
+
+    private static String lookup(String profile, String key) {
+        String fallback = ConfigReader.getProperty("network." + key, "");
+        return profile == null ? fallback : ConfigReader.getProperty("network." + profile + "." + key, fallback);
+    }
+
+    private static Set<String> splitList(String value) {
+        Set<String> items = new LinkedHashSet<>();
+        for (String item : Arrays.asList(value.split(","))) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim().toLowerCase());
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkPolicy{block=" + blockedResourceTypes + ", blockUrl=" + blockedUrlPattern
+                + ", cache=" + cachedResourceTypes + "}";
+    }
+}
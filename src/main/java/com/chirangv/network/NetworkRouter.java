@@ -0,0 +1,203 @@
+package com.chirangv.network;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single route handler per browser context that applies the active {@link NetworkPolicy}:
+ * blocked requests are aborted, cacheable static assets are served from the
+ * {@link StaticAssetCache}, everything else goes to the network.
+ *
+ * Page objects switch the active policy to their own profile when they are created, so
+ * the requests a page makes follow the rules of the page object driving it.
+ */
+public class NetworkRouter {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkRouter.class);
+    private static final Map<BrowserContext, NetworkRouter> routers = new ConcurrentHashMap<>();
+    private static final Map<String, NetworkPolicy> profiles = new ConcurrentHashMap<>();
+
+    // Headers describing the original transfer; the cached body is already decoded
+    private static final String[] TRANSFER_HEADERS = {"content-encoding", "content-length", "transfer-encoding"};
+    private static final int MAX_TRACKED_URLS = 200;
+
+    private final BrowserContext context;
+    private final StaticAssetCache cache;
+    private final NetworkStats stats = new NetworkStats();
+    // URLs blocked or served from cache since page metrics last took them, capped
+    private final List<String> blockedUrls = new ArrayList<>();
+    private final List<String> cachedUrls = new ArrayList<>();
+    private volatile NetworkPolicy policy;
+
+    private NetworkRouter(BrowserContext context, NetworkPolicy policy, StaticAssetCache cache) {
+        this.context = context;
+        this.policy = policy;
+        this.cache = cache;
+    }
+
+    /**
+     * Route every request of the context through a new router using the default policy
+     */
+    public static NetworkRouter install(BrowserContext context) {
+        NetworkRouter router = new NetworkRouter(context, NetworkPolicy.fromConfig(null), StaticAssetCache.getInstance());
+        context.route("**/*", router::handle);
+        routers.put(context, router);
+        // Contexts the browser pool closes without a test ever taking them must not leak
+        context.onClose(closed -> routers.remove(closed));
+        return router;
+    }
+
+    /**
+     * Get the router of the context a page belongs to, or null if routing is not installed
+     */
+    public static NetworkRouter forPage(Page page) {
+        return page == null ? null : routers.get(page.context());
+    }
+
+    /**
+     * Forget the router of a context that is being closed
+     */
+    public static NetworkRouter remove(BrowserContext context) {
+        return routers.remove(context);
+    }
+
+    /**
+     * Activate the policy configured for a page object class
+     */
+    public void usePolicyFor(Class<?> pageObjectClass) {
+        policy = profiles.computeIfAbsent(pageObjectClass.getSimpleName(), NetworkPolicy::fromConfig);
+    }
+
+    /**
+     * Run an action with every request let through to the network, then restore the active policy
+     */
+    public <T> T bypass(Supplier<T> action) {
+        NetworkPolicy active = policy;
+        policy = NetworkPolicy.allowAll();
+        try {
+            return action.get();
+        } finally {
+            policy = active;
+        }
+    }
+
+    public NetworkPolicy getPolicy() {
+        return policy;
+    }
+
+    public NetworkStats getStats() {
+        return stats;
+    }
+
+    public BrowserContext getContext() {
+        return context;
+    }
+
+    /**
+     * URLs blocked since the last call, at most the first 200
+     */
+    public List<String> takeBlockedUrls() {
+        return take(blockedUrls);
+    }
+
+    /**
+     * URLs served from the static asset cache since the last call, at most the first 200
+     */
+    public List<String> takeCachedUrls() {
+        return take(cachedUrls);
+    }
+
+    private static List<String> take(List<String> urls) {
+        synchronized (urls) {
+            List<String> taken = new ArrayList<>(urls);
+            urls.clear();
+            return taken;
+        }
+    }
+
+    private static void track(List<String> urls, String url) {
+        synchronized (urls) {
+            if (urls.size() < MAX_TRACKED_URLS) {
+                urls.add(url);
+            }
+        }
+    }
+
+    private void handle(Route route) {
+        NetworkPolicy active = policy;
+        if (active.isAllowAll()) {
+            route.fallback();
+            return;
+        }
+
+        Request request = route.request();
+        String resourceType = request.resourceType();
+        String url = request.url();
+
+        if (active.isBlocked(resourceType, url)) {
+            stats.recordBlocked();
+            track(blockedUrls, url);
+            route.abort("blockedbyclient");
+            return;
+        }
+        if (!"GET".equals(request.method()) || !active.isCacheable(resourceType)) {
+            route.fallback();
+            return;
+        }
+
+        try {
+            serveFromCache(route, url);
+        } catch (RuntimeException e) {
+            logger.warn("Static asset cache failed for " + url + ": " + e.getMessage());
+            route.fallback();
+        }
+    }
+
+    private void serveFromCache(Route route, String url) {
+        StaticAssetCache.Entry cached = cache.get(url);
+        if (cached != null && cache.isFresh(cached)) {
+            stats.recordCacheHit(cached.getBody().length);
+            track(cachedUrls, url);
+            route.fulfill(new Route.FulfillOptions().setStatus(200).setHeaders(cached.getHeaders())
+                    .setBodyBytes(cached.getBody()));
+            return;
+        }
+
+        Route.FetchOptions fetchOptions = new Route.FetchOptions();
+        if (cached != null) {
+            Map<String, String> headers = new HashMap<>(route.request().headers());
+            headers.put("if-none-match", cached.getEtag());
+            fetchOptions.setHeaders(headers);
+        }
+        APIResponse response = route.fetch(fetchOptions);
+        if (cached != null && response.status() == 304) {
+            cache.markValidated(cached);
+            stats.recordCacheHit(cached.getBody().length);
+            track(cachedUrls, url);
+            route.fulfill(new Route.FulfillOptions().setStatus(200).setHeaders(cached.getHeaders())
+                    .setBodyBytes(cached.getBody()));
+            return;
+        }
+
+        stats.recordCacheMiss();
+        if (response.status() == 200) {
+            Map<String, String> headers = new HashMap<>(response.headers());
+            for (String header : TRANSFER_HEADERS) {
+                headers.remove(header);
+            }
+            cache.put(url, response.headers().get("etag"), headers, response.body());
+        }
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+}
@@ -0,0 +1,63 @@
+package com.chirangv.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-context counters of what the {@link NetworkRouter} did
+ */
+public class NetworkStats {
+    private final AtomicLong requestsBlocked = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    void recordBlocked() {
+        requestsBlocked.incrementAndGet();
+    }
+
+    void recordCacheHit(long bytes) {
+        cacheHits.incrementAndGet();
+        bytesSaved.addAndGet(bytes);
+    }
+
+    void recordCacheMiss() {
+        cacheMisses.incrementAndGet();
+    }
+
+    /**
+     * Add another router's counters to these, e.g. when a test used several contexts
+     */
+    public void merge(NetworkStats other) {
+        requestsBlocked.addAndGet(other.getRequestsBlocked());
+        cacheHits.addAndGet(other.getCacheHits());
+        cacheMisses.addAndGet(other.getCacheMisses());
+        bytesSaved.addAndGet(other.getBytesSaved());
+    }
+
+    public long getRequestsBlocked() {
+        return requestsBlocked.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Bytes served from the static asset cache instead of the network
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Requests blocked: " + getRequestsBlocked()
+                + "\nCache hits: " + getCacheHits()
+                + "\nCache misses: " + getCacheMisses()
+                + "\nBytes saved: " + getBytesSaved();
+    }
+}
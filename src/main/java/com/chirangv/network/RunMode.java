@@ -0,0 +1,24 @@
+package com.chirangv.network;
+
+import com.chirangv.utils.ConfigReader;
+
+/**
+ * Where the browser's network traffic comes from, configured with mode=live|record|replay
+ */
+public enum RunMode {
+    /** Talk to the real site */
+    LIVE,
+    /** Talk to the real site and save the traffic of every test as a HAR archive */
+    RECORD,
+    /** Serve traffic from previously recorded HAR archives */
+    REPLAY;
+
+    public static RunMode fromConfig() {
+        String mode = ConfigReader.getProperty("mode", "live");
+        try {
+            return valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown mode: " + mode + " (expected live, record or replay)");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.chirangv.network;
+
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk cache of static assets that survives across runs.
+ *
+ * Entries are keyed by URL and remember the ETag the server sent, so a cached asset is
+ * revalidated with If-None-Match and its body is only downloaded again when the site has
+ * changed it. Once confirmed, an entry is served straight from disk for maxAgeSeconds;
+ * entries read from disk by a new run are always confirmed first, so a deploy between runs
+ * is picked up. Only responses that carried an ETag are stored.
+ *
+ * Bodies are kept in memory up to maxMemoryMb in total, least recently used first out; an
+ * evicted entry is read back from disk when it is next requested, and confirmed again.
+ *
+ * Configuration (config.properties):
+ * - network.cache.dir: cache location (default .cache/static-assets)
+ * - network.cache.revalidate: send a conditional request before serving (default true;
+ *   false serves cached assets forever, until the cache directory is deleted)
+ * - network.cache.maxAgeSeconds: how long a confirmed entry is served without asking (default 60)
+ * - network.cache.maxMemoryMb: bodies kept in memory across all entries (default 64)
+ */
+public class StaticAssetCache {
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetCache.class);
+    private static final Gson gson = new Gson();
+
+    private static final StaticAssetCache instance = new StaticAssetCache(
+            Paths.get(ConfigReader.getProperty("network.cache.dir", ".cache/static-assets")),
+            ConfigReader.getBooleanProperty("network.cache.revalidate", true),
+            TimeUnit.SECONDS.toMillis(ConfigReader.getIntProperty("network.cache.maxAgeSeconds", 60)),
+            ConfigReader.getIntProperty("network.cache.maxMemoryMb", 64) * 1024L * 1024L);
+
+    private final Path directory;
+    private final boolean revalidate;
+    private final long maxAgeMillis;
+    private final long maxMemoryBytes;
+    // Guarded by itself; iteration order is least recently used first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    public StaticAssetCache(Path directory, boolean revalidate, long maxAgeMillis, long maxMemoryBytes) {
+        this.directory = directory;
+        this.revalidate = revalidate;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    public static StaticAssetCache getInstance() {
+        return instance;
+    }
+
+    public boolean isRevalidate() {
+        return revalidate;
+    }
+
+    /**
+     * Check whether an entry may be served without asking the server whether it changed
+     */
+    public boolean isFresh(Entry entry) {
+        if (!revalidate) {
+            return true;
+        }
+        long validatedAt = entry.validatedAt;
+        return validatedAt != 0 && System.currentTimeMillis() - validatedAt < maxAgeMillis;
+    }
+
+    /**
+     * Record that the server confirmed an entry is still current
+     */
+    public void markValidated(Entry entry) {
+        entry.validatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Look up a cached asset, or null when the URL has not been cached yet
+     */
+    public Entry get(String url) {
+        synchronized (entries) {
+            Entry entry = entries.get(url);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        Entry entry = load(url);
+        if (entry != null) {
+            keep(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Total size of the bodies held in memory
+     */
+    public long getMemoryBytes() {
+        synchronized (entries) {
+            return memoryBytes;
+        }
+    }
+
+    /**
+     * Store a successful response that carries an ETag
+     */
+    public void put(String url, String etag, Map<String, String> headers, byte[] body) {
+        if (etag == null || etag.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(url, etag, headers, body);
+        markValidated(entry);
+        keep(entry);
+        try {
+            Files.createDirectories(directory);
+            String key = key(url);
+            JsonObject meta = new JsonObject();
+            meta.addProperty("url", url);
+            meta.addProperty("etag", etag);
+            meta.add("headers", gson.toJsonTree(headers));
+            writeAtomically(directory.resolve(key + ".body"), body);
+            writeAtomically(directory.resolve(key + ".json"), meta.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to cache " + url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hold an entry in memory, evicting the least recently used ones to stay within budget
+     */
+    private void keep(Entry entry) {
+        synchronized (entries) {
+            Entry previous = entries.remove(entry.url);
+            if (previous != null) {
+                memoryBytes -= previous.body.length;
+            }
+            if (entry.body.length > maxMemoryBytes) {
+                return;
+            }
+            entries.put(entry.url, entry);
+            memoryBytes += entry.body.length;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().body.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry load(String url) {
+        String key = key(url);
+        Path metaPath = directory.resolve(key + ".json");
+        Path bodyPath = directory.resolve(key + ".body");
+        if (!Files.exists(metaPath) || !Files.exists(bodyPath)) {
+            return null;
+        }
+        try {
+            JsonObject meta = gson.fromJson(new String(Files.readAllBytes(metaPath), StandardCharsets.UTF_8),
+                    JsonObject.class);
+            Map<String, String> headers = gson.fromJson(meta.get("headers"), HashMap.class);
+            return new Entry(url, meta.get("etag").getAsString(), headers, Files.readAllBytes(bodyPath));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable cache entry for " + url + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "asset", ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response
+     */
+    public static class Entry {
+        private final String url;
+        private final String etag;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        // When the server last confirmed the entry in this run; 0 if it has not yet
+        private volatile long validatedAt;
+
+        Entry(String url, String etag, Map<String, String> headers, byte[] body) {
+            this.url = url;
+            this.etag = etag;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
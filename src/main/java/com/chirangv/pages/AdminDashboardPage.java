@@ -1,20 +1,57 @@
 package com.chirangv.pages;
 
+import com.chirangv.perf.PerformanceBudget;
 import com.microsoft.playwright.Page;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Page Object for Admin Dashboard
  */
+@PerformanceBudget(ttfb = 1000, lcp = 3000, requests = 80, jsBytes = 600_000)
 public class AdminDashboardPage extends BasePage {
 
     // Locators
-    private static final String DASHBOARD_HEADING = "h1:has-text('Admin'), h1:has-text('Dashboard')";
-    private static final String MESSAGES_SECTION = "text=Messages, [data-section='messages']";
-    private static final String MESSAGES_TAB = "a:has-text('Messages'), button:has-text('Messages')";
-    private static final String MESSAGE_LIST = ".message-list, [data-testid='message-list'], .messages";
-    private static final String MESSAGE_ITEM = ".message-item, [data-testid='message-item'], .message";
-    private static final String SEARCH_INPUT = "input[type='search'], input[placeholder*='Search']";
-    private static final String ADMIN_MENU = "nav, .admin-nav, [role='navigation']";
+    private static final Element DASHBOARD_HEADING = Element.of("h1:has-text('Admin'), h1:has-text('Dashboard')");
+    private static final Element MESSAGES_SECTION = Element.of("text=Messages, [data-section='messages']");
+    private static final Element MESSAGES_TAB = Element.of("a:has-text('Messages'), button:has-text('Messages')");
+    private static final Element MESSAGE_LIST = Element.of(".message-list, [data-testid='message-list'], .messages");
+    private static final Element MESSAGE_ITEM = Element.of(".message-item, [data-testid='message-item'], .message");
+    private static final Element SEARCH_INPUT = Element.of("input[type='search'], input[placeholder*='Search']");
+    private static final Element ADMIN_MENU = Element.of("nav, .admin-nav, [role='navigation']");
+
+    // How long to give the message list to render before searching it; the list is there
+    // whether or not it has rows, so an empty inbox does not wait the full timeout
+    private static final long LIST_RENDER_TIMEOUT = 5000;
+
+    // Matches rows in the page and returns only index + snippet of the hits. Falls back to
+    // the visible body text when the inbox has no recognisable message rows.
+    private static final String FIND_MESSAGES_SCRIPT =
+            "({ selector, terms }) => {\n"
+            + "  const needles = terms.map(t => t.toLowerCase());\n"
+            + "  const snippet = (text, needle) => {\n"
+            + "    const at = Math.max(0, text.toLowerCase().indexOf(needle) - 40);\n"
+            + "    return text.substr(at, 160).replace(/\\s+/g, ' ').trim();\n"
+            + "  };\n"
+            + "  const rows = document.querySelectorAll(selector);\n"
+            + "  const matches = [];\n"
+            + "  if (rows.length === 0) {\n"
+            + "    const text = document.body ? document.body.innerText : '';\n"
+            + "    const lower = text.toLowerCase();\n"
+            + "    if (needles.every(n => lower.includes(n))) matches.push({ index: -1, snippet: snippet(text, needles[0]) });\n"
+            + "    return matches;\n"
+            + "  }\n"
+            + "  rows.forEach((row, index) => {\n"
+            + "    const text = row.textContent || '';\n"
+            + "    const lower = text.toLowerCase();\n"
+            + "    if (needles.every(n => lower.includes(n))) matches.push({ index, snippet: snippet(text, needles[0]) });\n"
+            + "  });\n"
+            + "  return matches;\n"
+            + "}";
 
     public AdminDashboardPage(Page page) {
         super(page);
@@ -55,19 +92,37 @@ public class AdminDashboardPage extends BasePage {
         if (isElementVisible(SEARCH_INPUT)) {
             fillInput(SEARCH_INPUT, searchText);
             logger.info("Searched for: " + searchText);
-            page.waitForTimeout(1000); // Wait for search results
+            waitForNetworkIdle(); // Wait for search results
         }
         return this;
     }
 
+    /**
+     * Find message rows containing every search term (case-insensitive).
+     * The match runs inside the page so only the matching rows cross the driver pipe.
+     */
+    @SuppressWarnings("unchecked")
+    public List<MessageMatch> findMessages(String... terms) {
+        Map<String, Object> arg = new HashMap<>();
+        arg.put("selector", MESSAGE_ITEM.getSelector());
+        arg.put("terms", Arrays.asList(terms));
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) page.evaluate(FIND_MESSAGES_SCRIPT, arg);
+
+        List<MessageMatch> matches = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            matches.add(new MessageMatch(((Number) row.get("index")).intValue(), (String) row.get("snippet")));
+        }
+        return matches;
+    }
+
     /**
      * Verify if a message exists in the list
      */
     public boolean isMessageVisible(String messageContent) {
         try {
-            page.waitForTimeout(1000);
-            String pageContent = page.content().toLowerCase();
-            boolean found = pageContent.contains(messageContent.toLowerCase());
+            waitForSelector(MESSAGE_LIST, LIST_RENDER_TIMEOUT);
+            boolean found = !findMessages(messageContent).isEmpty();
 
             if (found) {
                 logger.info("Message found: " + messageContent);
@@ -87,12 +142,9 @@ public class AdminDashboardPage extends BasePage {
      */
     public boolean isMessageFromUserVisible(String userName, String messageContent) {
         try {
-            page.waitForTimeout(1000);
-            String pageContent = page.content().toLowerCase();
-            boolean userFound = pageContent.contains(userName.toLowerCase());
-            boolean messageFound = pageContent.contains(messageContent.toLowerCase());
-
-            boolean found = userFound && messageFound;
+            waitForSelector(MESSAGE_LIST, LIST_RENDER_TIMEOUT);
+            // Both must appear in the same message row
+            boolean found = !findMessages(userName, messageContent).isEmpty();
 
             if (found) {
                 logger.info("Message from " + userName + " found with content: " + messageContent);
@@ -113,7 +165,7 @@ public class AdminDashboardPage extends BasePage {
     public int getMessageCount() {
         try {
             if (isElementVisible(MESSAGE_ITEM)) {
-                return page.locator(MESSAGE_ITEM).count();
+                return locator(MESSAGE_ITEM).count();
             }
             return 0;
         } catch (Exception e) {
@@ -128,7 +180,7 @@ public class AdminDashboardPage extends BasePage {
     public String getLatestMessageContent() {
         try {
             if (isElementVisible(MESSAGE_ITEM)) {
-                return page.locator(MESSAGE_ITEM).first().textContent();
+                return locator(MESSAGE_ITEM).first().textContent();
             }
             return "";
         } catch (Exception e) {
@@ -1,18 +1,63 @@
 package com.chirangv.pages;
 
+import com.chirangv.logging.TestLog;
+import com.chirangv.metrics.InstrumentedPage;
+import com.chirangv.network.NetworkRouter;
+import com.chirangv.perf.Budget;
+import com.chirangv.perf.BudgetReport;
+import com.chirangv.perf.PageMetrics;
+import com.chirangv.perf.PageMetricsCollector;
+import com.chirangv.utils.ConfigReader;
+import com.chirangv.wait.SleepGuard;
+import com.chirangv.wait.WaitResult;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
 /**
  * Base Page Object class with common functionality
+ *
+ * Page objects wait for conditions, never for fixed amounts of time: the waitFor* methods
+ * return as soon as their condition holds and report how long they took. With
+ * wait.forbidFixedSleeps=true, calling page.waitForTimeout from a page object fails.
+ * With instrumentation.enabled=true, every Playwright call is timed (see {@link InstrumentedPage}).
  */
 public class BasePage {
     protected Page page;
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+    // Direct loads measured for budgets, by page object class and URL
+    private static final Map<String, PageMetrics> directMetrics = new ConcurrentHashMap<>();
+    private PageMetrics lastPageMetrics;
 
     public BasePage(Page page) {
-        this.page = page;
+        this.page = wrap(page);
+
+        // Requests made while this page object drives the page follow its network profile
+        NetworkRouter router = NetworkRouter.forPage(page);
+        if (router != null) {
+            router.usePolicyFor(getClass());
+        }
+    }
+
+    /**
+     * Instrument and guard a page from the test; a page handed on by another page object
+     * has been wrapped already
+     */
+    private static Page wrap(Page page) {
+        if (page == null || SleepGuard.isGuarded(page) || InstrumentedPage.isInstrumented(page)) {
+            return page;
+        }
+        Page wrapped = ConfigReader.getBooleanProperty("instrumentation.enabled", true)
+                ? InstrumentedPage.instrument(page, BasePage.class) : page;
+        return ConfigReader.getBooleanProperty("wait.forbidFixedSleeps", true) ? SleepGuard.guard(wrapped) : wrapped;
     }
 
     /**
@@ -30,10 +75,79 @@ public class BasePage {
     }
 
     /**
-     * Wait for page to load
+     * Wait for page to load, then capture the load's performance metrics (see
+     * {@link PageMetricsCollector}) unless perf.metrics=false
      */
     public void waitForPageLoad() {
         page.waitForLoadState();
+        if (PageMetricsCollector.isEnabled()) {
+            PageMetrics metrics = PageMetricsCollector.capture(page, getClass().getSimpleName());
+            if (metrics != null) {
+                lastPageMetrics = metrics;
+                if (ConfigReader.getBooleanProperty("budget.verifyOnLoad", true)) {
+                    verifyPerformanceBudget();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the last page load against this page object's {@link com.chirangv.perf.PerformanceBudget};
+     * fails the test with the exceeded metrics when budget.mode=fail, otherwise logs them
+     *
+     * @return the report, or null if no page load has been captured yet
+     */
+    public BudgetReport verifyPerformanceBudget() {
+        Budget budget = Budget.forPageObject(getClass());
+        if (lastPageMetrics == null || budget.isEmpty()) {
+            return null;
+        }
+        PageMetrics metrics = lastPageMetrics;
+        if (budget.needsDirectLoad(metrics) && ConfigReader.getBooleanProperty("budget.verifyDirect", true)) {
+            PageMetrics direct = measureDirect(metrics.getUrl());
+            if (direct != null) {
+                metrics = direct;
+            }
+        }
+        return budget.verify(metrics);
+    }
+
+    /**
+     * Metrics of a load of the URL with network routing bypassed, measured once per page
+     * object and URL in a run; the page is left on that direct load
+     *
+     * @return the metrics, or null if the page has no router or the browser reported none
+     */
+    private PageMetrics measureDirect(String url) {
+        String key = getClass().getName() + " " + url;
+        PageMetrics direct = directMetrics.get(key);
+        NetworkRouter router = NetworkRouter.forPage(page);
+        if (direct != null || router == null) {
+            return direct;
+        }
+        direct = router.bypass(() -> {
+            page.navigate(url);
+            page.waitForLoadState();
+            return PageMetricsCollector.capture(page, getClass().getSimpleName());
+        });
+        if (direct != null) {
+            directMetrics.put(key, direct);
+        }
+        return direct;
+    }
+
+    /**
+     * Metrics of the last page load this page object waited for, or null if none was captured
+     */
+    public PageMetrics getLastPageMetrics() {
+        return lastPageMetrics;
+    }
+
+    /**
+     * Get the cached locator of a declared element
+     */
+    protected Locator locator(Element element) {
+        return LocatorRegistry.get(page, element);
     }
 
     /**
@@ -41,9 +155,25 @@ public class BasePage {
      */
     public boolean isElementVisible(String selector) {
         try {
-            return page.locator(selector).isVisible();
+            return isElementVisible(Element.of(selector));
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Check if a declared element, or any alternative of a union, is visible
+     */
+    public boolean isElementVisible(Element element) {
+        try {
+            boolean visible = locator(element).isVisible();
+            if (visible) {
+                profile(element);
+            }
+            return visible;
         } catch (Exception e) {
-            logger.error("Element not found: " + selector);
+            logger.error("Element not found: {}", element);
             return false;
         }
     }
@@ -53,9 +183,14 @@ public class BasePage {
      */
     public boolean isTextPresent(String text) {
         try {
-            return page.locator("text=" + text).isVisible();
+            Element element = Element.text(text);
+            boolean visible = locator(element).isVisible();
+            if (visible) {
+                profile(element);
+            }
+            return visible;
         } catch (Exception e) {
-            logger.error("Text not found: " + text);
+            logger.error("Text not found: {}", text);
             return false;
         }
     }
@@ -64,22 +199,197 @@ public class BasePage {
      * Click element
      */
     public void clickElement(String selector) {
-        page.locator(selector).click();
-        logger.info("Clicked element: " + selector);
+        clickElement(Element.of(selector));
+    }
+
+    /**
+     * Click a declared element
+     */
+    public void clickElement(Element element) {
+        // Profile first: the click may navigate away from the element
+        profile(element);
+        locator(element).click();
+        logger.info("Clicked element: {}", element);
     }
 
     /**
      * Fill input field
      */
     public void fillInput(String selector, String value) {
-        page.locator(selector).fill(value);
-        logger.info("Filled input " + selector + " with value: " + value);
+        fillInput(Element.of(selector), value);
+    }
+
+    /**
+     * Fill a declared input field; only the length of the value is logged, and not even that
+     * for password fields or fields named after a log.maskKeys key
+     */
+    public void fillInput(Element element, String value) {
+        if (TestLog.isSecretField(element.getSelector())) {
+            fillSecret(element, value);
+            return;
+        }
+        locator(element).fill(value);
+        profile(element);
+        logger.info("Filled input {} with {} characters", element, value == null ? 0 : value.length());
+    }
+
+    /**
+     * Fill an input whose value must not appear in logs, e.g. a password
+     */
+    public void fillSecret(Element element, String value) {
+        locator(element).fill(value);
+        profile(element);
+        logger.info("Filled input {} with value: {}", element, TestLog.secret(value));
     }
 
     /**
      * Get element text
      */
     public String getElementText(String selector) {
-        return page.locator(selector).textContent();
+        return getElementText(Element.of(selector));
+    }
+
+    /**
+     * Get the text of a declared element
+     */
+    public String getElementText(Element element) {
+        String text = locator(element).textContent();
+        profile(element);
+        return text;
+    }
+
+    /**
+     * Profile the alternatives of an element that was just found, when selectors.profile=true
+     */
+    private void profile(Element element) {
+        if (SelectorProfiler.isEnabled()) {
+            SelectorProfiler.profile(page, getClass(), element);
+        }
+    }
+
+    /**
+     * Start a visibility probe that checks several texts/selectors in one round trip
+     */
+    public VisibilityProbe probe() {
+        return new VisibilityProbe(page);
+    }
+
+    /**
+     * Default deadline for condition-based waits
+     */
+    protected long defaultWaitTimeout() {
+        return ConfigReader.getIntProperty("wait.timeout", ConfigReader.getTimeout());
+    }
+
+    /**
+     * Wait until an element matching the selector is visible
+     */
+    public WaitResult waitForSelector(String selector) {
+        return waitForSelector(selector, defaultWaitTimeout());
+    }
+
+    /**
+     * Wait up to timeoutMillis until an element matching the selector is visible
+     */
+    public WaitResult waitForSelector(String selector, long timeoutMillis) {
+        return waitForSelector(Element.of(selector), timeoutMillis);
+    }
+
+    /**
+     * Wait up to timeoutMillis until an element, or any alternative of a union, is visible
+     */
+    public WaitResult waitForSelector(Element element, long timeoutMillis) {
+        WaitResult result = waitForLocator("selector " + element, locator(element).first(), timeoutMillis);
+        if (result.isSatisfied()) {
+            profile(element);
+        }
+        return result;
+    }
+
+    /**
+     * Wait up to timeoutMillis until the text is visible on the page
+     */
+    public WaitResult waitForText(String text, long timeoutMillis) {
+        return waitForLocator("text '" + text + "'", locator(Element.text(text)).first(), timeoutMillis);
+    }
+
+    /**
+     * Wait until the URL matches a glob pattern
+     */
+    public WaitResult waitForUrl(String urlGlob) {
+        long start = System.nanoTime();
+        boolean satisfied = true;
+        try {
+            page.waitForURL(urlGlob, new Page.WaitForURLOptions().setTimeout(defaultWaitTimeout()));
+        } catch (PlaywrightException e) {
+            satisfied = false;
+        }
+        return report(new WaitResult("URL " + urlGlob, satisfied, elapsedMillis(start)));
+    }
+
+    /**
+     * Wait until there have been no network connections for at least 500 ms
+     */
+    public WaitResult waitForNetworkIdle() {
+        long start = System.nanoTime();
+        boolean satisfied = true;
+        try {
+            page.waitForLoadState(LoadState.NETWORKIDLE,
+                    new Page.WaitForLoadStateOptions().setTimeout(defaultWaitTimeout()));
+        } catch (PlaywrightException e) {
+            satisfied = false;
+        }
+        return report(new WaitResult("network idle", satisfied, elapsedMillis(start)));
+    }
+
+    /**
+     * Poll a condition until it holds or timeoutMillis passes
+     */
+    public WaitResult waitUntil(String description, BooleanSupplier condition, long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000L;
+        long pollMillis = 25;
+        while (true) {
+            if (condition.getAsBoolean()) {
+                return report(new WaitResult(description, true, elapsedMillis(start)));
+            }
+            if (System.nanoTime() >= deadline) {
+                return report(new WaitResult(description, false, elapsedMillis(start)));
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, Math.max(1, (deadline - System.nanoTime()) / 1_000_000L)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return report(new WaitResult(description, false, elapsedMillis(start)));
+            }
+            // Back off so long waits do not hammer the driver
+            pollMillis = Math.min(pollMillis * 2, 250);
+        }
+    }
+
+    private WaitResult waitForLocator(String description, Locator locator, long timeoutMillis) {
+        long start = System.nanoTime();
+        boolean satisfied = true;
+        try {
+            locator.waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(timeoutMillis));
+        } catch (PlaywrightException e) {
+            satisfied = false;
+        }
+        return report(new WaitResult(description, satisfied, elapsedMillis(start)));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    private static WaitResult report(WaitResult result) {
+        if (result.isSatisfied()) {
+            logger.info("{}", result);
+        } else {
+            logger.warn("{}", result);
+        }
+        return result;
     }
 }
@@ -1,20 +1,25 @@
 package com.chirangv.pages;
 
+import com.chirangv.perf.PerformanceBudget;
 import com.microsoft.playwright.Page;
 
 /**
  * Page Object for Contact/Message Page
  */
+@PerformanceBudget(ttfb = 800, lcp = 2500, requests = 50, jsBytes = 400_000)
 public class ContactPage extends BasePage {
 
     // Locators
-    private static final String MESSAGE_TEXTAREA = "textarea[name='message'], textarea[placeholder*='message'], textarea";
-    private static final String NAME_INPUT = "input[name='name'], input[placeholder*='name']";
-    private static final String EMAIL_INPUT = "input[name='email'], input[type='email'], input[placeholder*='email']";
-    private static final String PHONE_INPUT = "input[name='phone'], input[type='tel'], input[placeholder*='phone']";
-    private static final String SEND_BUTTON = "button:has-text('Send'), button[type='submit']";
-    private static final String SUCCESS_MESSAGE = "text=success, text=sent, text=thank you";
-    private static final String CONTACT_FORM = "form";
+    private static final Element MESSAGE_TEXTAREA = Element.of("textarea[name='message'], textarea[placeholder*='message'], textarea");
+    private static final Element NAME_INPUT = Element.of("input[name='name'], input[placeholder*='name']");
+    private static final Element EMAIL_INPUT = Element.of("input[name='email'], input[type='email'], input[placeholder*='email']");
+    private static final Element PHONE_INPUT = Element.of("input[name='phone'], input[type='tel'], input[placeholder*='phone']");
+    private static final Element SEND_BUTTON = Element.of("button:has-text('Send'), button[type='submit']");
+    private static final Element SUCCESS_MESSAGE = Element.of("text=success, text=sent, text=thank");
+    private static final Element CONTACT_FORM = Element.of("form");
+
+    // How long to wait for the confirmation after sending a message
+    private static final long SUCCESS_MESSAGE_TIMEOUT = 5000;
 
     public ContactPage(Page page) {
         super(page);
@@ -78,9 +83,7 @@ public class ContactPage extends BasePage {
      */
     public boolean isSuccessMessageDisplayed() {
         try {
-            // Wait a bit for success message to appear
-            page.waitForTimeout(2000);
-            return isTextPresent("success") || isTextPresent("sent") || isTextPresent("thank");
+            return waitForSelector(SUCCESS_MESSAGE, SUCCESS_MESSAGE_TIMEOUT).isSatisfied();
         } catch (Exception e) {
             logger.warn("Success message not found: " + e.getMessage());
             return false;
@@ -92,7 +95,7 @@ public class ContactPage extends BasePage {
      */
     public String getSuccessMessage() {
         try {
-            return page.locator(SUCCESS_MESSAGE).first().textContent();
+            return locator(SUCCESS_MESSAGE).first().textContent();
         } catch (Exception e) {
             return "";
         }
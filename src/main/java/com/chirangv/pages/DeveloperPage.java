@@ -1,27 +1,29 @@
 package com.chirangv.pages;
 
+import com.chirangv.perf.PerformanceBudget;
 import com.microsoft.playwright.Page;
 
 /**
  * Page Object for Developer Page
  */
+@PerformanceBudget(ttfb = 800, lcp = 2500, requests = 60, jsBytes = 500_000)
 public class DeveloperPage extends BasePage {
 
     // Locators
-    private static final String PAGE_HEADING = "h1:has-text('Developer Portfolio')";
-    private static final String TECHNICAL_EXPERTISE = "text=Technical Expertise";
-    private static final String FULL_STACK_DEV = "text=Full-Stack Development";
-    private static final String AI_CHATBOT = "text=AI & Chatbot Integration";
-    private static final String DATABASE_DESIGN = "text=Database Design & Optimization";
-    private static final String API_DEVELOPMENT = "text=API Development & Integration";
-    private static final String SKILLS_SECTION = "text=Skills & Technologies";
-    private static final String FRONTEND_SECTION = "text=Frontend";
-    private static final String BACKEND_SECTION = "text=Backend";
-    private static final String DEVOPS_SECTION = "text=DevOps & Tools";
-    private static final String PROJECTS_LINK = "a:has-text('My Projects')";
-    private static final String DOCUMENTATION_LINK = "a:has-text('Documentation')";
-    private static final String TUTORIALS_LINK = "a:has-text('Tutorials')";
-    private static final String LOGIN_TO_CONNECT = "a:has-text('Login to Connect')";
+    private static final Element PAGE_HEADING = Element.of("h1:has-text('Developer Portfolio')");
+    private static final Element TECHNICAL_EXPERTISE = Element.of("text=Technical Expertise");
+    private static final Element FULL_STACK_DEV = Element.of("text=Full-Stack Development");
+    private static final Element AI_CHATBOT = Element.of("text=AI & Chatbot Integration");
+    private static final Element DATABASE_DESIGN = Element.of("text=Database Design & Optimization");
+    private static final Element API_DEVELOPMENT = Element.of("text=API Development & Integration");
+    private static final Element SKILLS_SECTION = Element.of("text=Skills & Technologies");
+    private static final Element FRONTEND_SECTION = Element.of("text=Frontend");
+    private static final Element BACKEND_SECTION = Element.of("text=Backend");
+    private static final Element DEVOPS_SECTION = Element.of("text=DevOps & Tools");
+    private static final Element PROJECTS_LINK = Element.of("a:has-text('My Projects')");
+    private static final Element DOCUMENTATION_LINK = Element.of("a:has-text('Documentation')");
+    private static final Element TUTORIALS_LINK = Element.of("a:has-text('Tutorials')");
+    private static final Element LOGIN_TO_CONNECT = Element.of("a:has-text('Login to Connect')");
 
     public DeveloperPage(Page page) {
         super(page);
@@ -147,31 +149,58 @@ public class DeveloperPage extends BasePage {
         return new LoginPage(page);
     }
 
+    /**
+     * Check all main sections in a single round trip
+     */
+    public ProbeResult probeMainSections() {
+        return probe()
+                .text("Technical Expertise")
+                .text("Skills & Technologies")
+                .text("Developer Resources")
+                .run();
+    }
+
+    /**
+     * Check all expertise areas in a single round trip
+     */
+    public ProbeResult probeExpertiseAreas() {
+        return probe()
+                .text("Full-Stack Development")
+                .text("AI & Chatbot Integration")
+                .text("Database Design & Optimization")
+                .text("API Development & Integration")
+                .run();
+    }
+
+    /**
+     * Check all skill sections in a single round trip
+     */
+    public ProbeResult probeSkillSections() {
+        return probe()
+                .text("Frontend")
+                .text("Backend")
+                .text("DevOps & Tools")
+                .run();
+    }
+
     /**
      * Verify all main sections are visible
      */
     public boolean areAllMainSectionsVisible() {
-        return isTechnicalExpertiseSectionVisible() &&
-                isSkillsSectionVisible() &&
-                isDeveloperResourcesVisible();
+        return probeMainSections().allVisible();
     }
 
     /**
      * Verify all expertise areas are mentioned
      */
     public boolean areAllExpertiseAreasMentioned() {
-        return isFullStackDevMentioned() &&
-                isAIChatbotMentioned() &&
-                isDatabaseDesignMentioned() &&
-                isAPIDevMentioned();
+        return probeExpertiseAreas().allVisible();
     }
 
     /**
      * Verify all skill sections are present
      */
     public boolean areAllSkillSectionsPresent() {
-        return isFrontendSectionVisible() &&
-                isBackendSectionVisible() &&
-                isDevOpsSectionVisible();
+        return probeSkillSections().allVisible();
     }
 }
@@ -0,0 +1,147 @@
+package com.chirangv.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An element a page object declares once, as a selector or a union of alternatives
+ * separated by top-level commas, e.g. "textarea[name='message'], textarea".
+ *
+ * Each alternative is validated when the element is declared and becomes a Playwright
+ * selector of its own, so a union may mix engines ("text=sent, [role='status']") - as a
+ * single selector string, everything after text= would be read as the text to match.
+ * Commas inside quotes, brackets or parentheses do not split, so quote texts that contain
+ * one: text="Hello, world".
+ *
+ * Elements are equal when their selectors are. Parsed selectors are kept for reuse up to
+ * MAX_CACHED_SELECTORS, beyond which they are parsed on every call; text elements are
+ * never kept, since their texts are usually test data.
+ */
+public final class Element {
+    private static final int MAX_CACHED_SELECTORS = 512;
+    private static final Map<String, Element> bySelector = new ConcurrentHashMap<>();
+
+    private final String selector;
+    private final List<String> branches;
+
+    private Element(String selector, List<String> branches) {
+        this.selector = selector;
+        this.branches = Collections.unmodifiableList(branches);
+    }
+
+    /**
+     * Declare an element by selector
+     *
+     * @throws IllegalArgumentException if the selector or one of its alternatives is malformed
+     */
+    public static Element of(String selector) {
+        Element element = bySelector.get(selector);
+        if (element != null) {
+            return element;
+        }
+        if (bySelector.size() >= MAX_CACHED_SELECTORS) {
+            return parse(selector);
+        }
+        return bySelector.computeIfAbsent(selector, Element::parse);
+    }
+
+    /**
+     * An element matched by visible text, like an unquoted text= selector; the text is never split
+     */
+    public static Element text(String text) {
+        return new Element("text=" + text, Collections.singletonList("text=" + text));
+    }
+
+    /**
+     * The selector as declared
+     */
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * The alternatives of a union, or the selector itself
+     */
+    public List<String> getBranches() {
+        return branches;
+    }
+
+    public boolean isUnion() {
+        return branches.size() > 1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Element && selector.equals(((Element) other).selector);
+    }
+
+    @Override
+    public int hashCode() {
+        return selector.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+
+    private static Element parse(String selector) {
+        if (selector == null || selector.trim().isEmpty()) {
+            throw new IllegalArgumentException("Empty selector");
+        }
+        List<String> branches = new ArrayList<>();
+        StringBuilder branch = new StringBuilder();
+        char quote = 0;
+        int depth = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < selector.length()) {
+                    branch.append(c);
+                    c = selector.charAt(++i);
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == ']') {
+                if (--depth < 0) {
+                    throw invalid(selector, "unbalanced '" + c + "'");
+                }
+            } else if (c == ',' && depth == 0) {
+                branches.add(checkBranch(selector, branch.toString(), branches));
+                branch.setLength(0);
+                continue;
+            }
+            branch.append(c);
+        }
+        if (quote != 0) {
+            throw invalid(selector, "unterminated " + quote + " quote");
+        }
+        if (depth != 0) {
+            throw invalid(selector, "unbalanced brackets");
+        }
+        branches.add(checkBranch(selector, branch.toString(), branches));
+        return new Element(selector, branches);
+    }
+
+    private static String checkBranch(String selector, String branch, List<String> previous) {
+        String trimmed = branch.trim();
+        if (trimmed.isEmpty()) {
+            throw invalid(selector, "empty alternative");
+        }
+        if (previous.contains(trimmed)) {
+            throw invalid(selector, "duplicate alternative " + trimmed);
+        }
+        return trimmed;
+    }
+
+    private static IllegalArgumentException invalid(String selector, String problem) {
+        return new IllegalArgumentException("Invalid selector \"" + selector + "\": " + problem);
+    }
+}
@@ -1,21 +1,23 @@
 package com.chirangv.pages;
 
+import com.chirangv.perf.PerformanceBudget;
 import com.microsoft.playwright.Page;
 
 /**
  * Page Object for Home Page
  */
+@PerformanceBudget(ttfb = 800, lcp = 2500, requests = 60, jsBytes = 500_000)
 public class HomePage extends BasePage {
 
     // Locators
-    private static final String HEADER = "h1:has-text('Hello! I\\'m Chiran')";
-    private static final String JOIN_CIRCLE_SECTION = "text=Join My Circle";
+    private static final Element HEADER = Element.of("h1:has-text('Hello! I\\'m Chiran')");
+    private static final Element JOIN_CIRCLE_SECTION = Element.of("text=Join My Circle");
     // More specific locators using href or navigation context
-    private static final String LOGIN_LINK = "nav a[href='/login']";
-    private static final String DEVELOPER_LINK = "nav a[href='/developer']";
-    private static final String ABOUT_SECTION = "text=A Little About Me";
-    private static final String WHO_I_AM_SECTION = "text=Who I Am";
-    private static final String WHAT_I_DO_SECTION = "text=What I Do";
+    private static final Element LOGIN_LINK = Element.of("nav a[href='/login']");
+    private static final Element DEVELOPER_LINK = Element.of("nav a[href='/developer']");
+    private static final Element ABOUT_SECTION = Element.of("text=A Little About Me");
+    private static final Element WHO_I_AM_SECTION = Element.of("text=Who I Am");
+    private static final Element WHAT_I_DO_SECTION = Element.of("text=What I Do");
 
     public HomePage(Page page) {
         super(page);
@@ -49,7 +51,7 @@ public class HomePage extends BasePage {
      * Click on Login link
      */
     public LoginPage clickLoginLink() {
-        page.click(LOGIN_LINK);
+        locator(LOGIN_LINK).click();
         page.waitForURL("**/login**");
         logger.info("Clicked Login link");
         return new LoginPage(page);
@@ -59,7 +61,7 @@ public class HomePage extends BasePage {
      * Click on Developer link
      */
     public DeveloperPage clickDeveloperLink() {
-        page.click(DEVELOPER_LINK);
+        locator(DEVELOPER_LINK).click();
         page.waitForURL("**/developer**");
         logger.info("Clicked Developer link");
         return new DeveloperPage(page);
@@ -86,14 +88,23 @@ public class HomePage extends BasePage {
         return isTextPresent("What I Do");
     }
 
+    /**
+     * Check all main sections in a single round trip
+     */
+    public ProbeResult probeMainSections() {
+        return probe()
+                .text("Join My Circle")
+                .text("A Little About Me")
+                .text("Who I Am")
+                .text("What I Do")
+                .run();
+    }
+
     /**
      * Verify all main sections are visible
      */
     public boolean areAllMainSectionsVisible() {
-        return isJoinCircleSectionVisible() &&
-                isAboutMeSectionVisible() &&
-                isWhoIAmSectionVisible() &&
-                isWhatIDoSectionVisible();
+        return probeMainSections().allVisible();
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.chirangv.pages;
+
+import com.chirangv.metrics.InstrumentedPage;
+import com.chirangv.wait.SleepGuard;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Locators of declared {@link Element}s, created on first use and cached per page until the
+ * page closes.
+ *
+ * A union resolves to its alternatives joined with {@link Locator#or}, in declaration order.
+ * All page objects driving the same page share one cache, whichever wrapper they hold.
+ */
+public final class LocatorRegistry {
+    private static final Map<Page, Map<Element, Locator>> locatorsByPage = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private LocatorRegistry() {
+    }
+
+    /**
+     * Get the locator of an element on a page, creating it on first use
+     */
+    public static Locator get(Page page, Element element) {
+        Page key = InstrumentedPage.unwrap(SleepGuard.unwrap(page));
+        Map<Element, Locator> locators = locatorsByPage.get(key);
+        if (locators == null) {
+            locators = new ConcurrentHashMap<>();
+            Map<Element, Locator> existing = locatorsByPage.putIfAbsent(key, locators);
+            if (existing != null) {
+                locators = existing;
+            } else {
+                page.onClose(closed -> locatorsByPage.remove(key));
+            }
+        }
+        Locator locator = locators.get(element);
+        if (locator != null) {
+            hits.increment();
+            return locator;
+        }
+        misses.increment();
+        return locators.computeIfAbsent(element, declared -> resolve(page, declared));
+    }
+
+    /**
+     * Lookups answered from the cache
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups that had to create a locator
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Share of lookups answered from the cache, between 0 and 1
+     */
+    public static double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0 : (double) getHits() / lookups;
+    }
+
+    public static boolean isEmpty() {
+        return getHits() + getMisses() == 0;
+    }
+
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("hits", getHits());
+        json.addProperty("misses", getMisses());
+        json.addProperty("hitRate", getHitRate());
+        json.addProperty("pagesCached", locatorsByPage.size());
+        return json;
+    }
+
+    private static Locator resolve(Page page, Element element) {
+        List<String> branches = element.getBranches();
+        Locator locator = page.locator(branches.get(0));
+        for (int i = 1; i < branches.size(); i++) {
+            locator = locator.or(page.locator(branches.get(i)));
+        }
+        return locator;
+    }
+}
@@ -1,21 +1,23 @@
 package com.chirangv.pages;
 
+import com.chirangv.perf.PerformanceBudget;
 import com.microsoft.playwright.Page;
 
 /**
  * Page Object for Login Page
  */
+@PerformanceBudget(ttfb = 800, lcp = 2500, requests = 50, jsBytes = 400_000)
 public class LoginPage extends BasePage {
 
     // Locators
-    private static final String PAGE_HEADING = "text=Sign in to your account";
-    private static final String EMAIL_INPUT = "input[type='email'], input[name='email']";
-    private static final String PASSWORD_INPUT = "input[type='password'], input[name='password']";
-    private static final String SIGN_IN_BUTTON = "button:has-text('Sign in')";
-    private static final String SIGNUP_LINK = "text=Sign up";
-    private static final String GOOGLE_BUTTON = "text=Google";
-    private static final String BACK_TO_HOME_LINK = "a:has-text('Back to Home')";
-    private static final String ERROR_MESSAGE = ".error-message, [role='alert']";
+    private static final Element PAGE_HEADING = Element.of("text=Sign in to your account");
+    private static final Element EMAIL_INPUT = Element.of("input[type='email'], input[name='email']");
+    private static final Element PASSWORD_INPUT = Element.of("input[type='password'], input[name='password']");
+    private static final Element SIGN_IN_BUTTON = Element.of("button:has-text('Sign in')");
+    private static final Element SIGNUP_LINK = Element.of("text=Sign up");
+    private static final Element GOOGLE_BUTTON = Element.of("text=Google");
+    private static final Element BACK_TO_HOME_LINK = Element.of("a:has-text('Back to Home')");
+    private static final Element ERROR_MESSAGE = Element.of(".error-message, [role='alert']");
 
     public LoginPage(Page page) {
         super(page);
@@ -50,7 +52,7 @@ public class LoginPage extends BasePage {
      * Enter password
      */
     public LoginPage enterPassword(String password) {
-        fillInput(PASSWORD_INPUT, password);
+        fillSecret(PASSWORD_INPUT, password);
         return this;
     }
 
@@ -141,13 +143,22 @@ public class LoginPage extends BasePage {
         return "";
     }
 
+    /**
+     * Check all login form elements in a single round trip
+     */
+    public ProbeResult probeLoginElements() {
+        return probe()
+                .selector("Email field", EMAIL_INPUT)
+                .selector("Password field", PASSWORD_INPUT)
+                .selector("Sign In button", SIGN_IN_BUTTON)
+                .text("Sign Up link", "Sign up")
+                .run();
+    }
+
     /**
      * Verify all login form elements are present
      */
     public boolean areAllLoginElementsPresent() {
-        return isEmailFieldVisible() &&
-                isPasswordFieldVisible() &&
-                isSignInButtonVisible() &&
-                isSignUpLinkVisible();
+        return probeLoginElements().allVisible();
     }
 }
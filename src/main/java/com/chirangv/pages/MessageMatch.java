@@ -0,0 +1,34 @@
+package com.chirangv.pages;
+
+/**
+ * A message row in the admin inbox that matched a search
+ */
+public class MessageMatch {
+    private final int index;
+    private final String snippet;
+
+    public MessageMatch(int index, String snippet) {
+        this.index = index;
+        this.snippet = snippet;
+    }
+
+    /**
+     * Position of the row among the message items, or -1 when the page has no message rows
+     * and the match came from the page's visible text
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Text surrounding the first search term
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + ": " + snippet;
+    }
+}
@@ -0,0 +1,51 @@
+package com.chirangv.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-item visibility report produced by a {@link VisibilityProbe}
+ */
+public class ProbeResult {
+    private final Map<String, Boolean> visibility;
+
+    ProbeResult(Map<String, Boolean> visibility) {
+        this.visibility = Collections.unmodifiableMap(new LinkedHashMap<>(visibility));
+    }
+
+    /**
+     * Visibility of every probed item, in the order the items were added
+     */
+    public Map<String, Boolean> getVisibility() {
+        return visibility;
+    }
+
+    public boolean isVisible(String name) {
+        return Boolean.TRUE.equals(visibility.get(name));
+    }
+
+    public boolean allVisible() {
+        return !visibility.containsValue(Boolean.FALSE);
+    }
+
+    /**
+     * Names of the items that were not visible
+     */
+    public List<String> missing() {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Boolean> entry : visibility.entrySet()) {
+            if (!entry.getValue()) {
+                missing.add(entry.getKey());
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public String toString() {
+        return visibility.toString();
+    }
+}
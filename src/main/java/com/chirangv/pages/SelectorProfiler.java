@@ -0,0 +1,264 @@
+package com.chirangv.pages;
+
+import com.chirangv.metrics.InstrumentedPage;
+import com.chirangv.metrics.LatencyHistogram;
+import com.chirangv.utils.ConfigReader;
+import com.chirangv.wait.SleepGuard;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Profiles how the declared {@link Element}s of page objects resolve in the live page and
+ * recommends the cheapest stable alternative of each.
+ *
+ * Whenever a page object has just found an element, every alternative of that element is
+ * resolved on its own against the same document: the time to count its matches, whether
+ * it matched and how many elements it matched. The recommendation prefers alternatives
+ * that matched every time, then ones that match a single element, then the most stable
+ * kind of selector (test id, id, role or name before classes, before text, before a bare
+ * tag name), then the fastest.
+ *
+ * Configuration (config.properties):
+ * - selectors.profile: profile elements as they are used (default false)
+ * - selectors.profileSamples: samples to take per element in a run (default 5)
+ */
+public final class SelectorProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(SelectorProfiler.class);
+
+    private static final Pattern BARE_TAG = Pattern.compile("[a-zA-Z][a-zA-Z0-9-]*");
+    private static final String[] STABILITY = {"bare tag", "text", "class or attribute", "test id, id, role or name"};
+
+    private static final Map<String, ElementProfile> profiles = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<Element, String>> elementNames = new ConcurrentHashMap<>();
+
+    private SelectorProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("selectors.profile", false);
+    }
+
+    /**
+     * Time every alternative of an element the page object has just found on the page
+     */
+    public static void profile(Page page, Class<?> pageObject, Element element) {
+        String name = nameOf(pageObject, element);
+        ElementProfile profile = profiles.computeIfAbsent(name, key -> new ElementProfile(element));
+        if (!profile.claimSample(ConfigReader.getIntProperty("selectors.profileSamples", 5))) {
+            return;
+        }
+        // Bypass the instrumentation so profiling does not show up in the call stats
+        Page target = InstrumentedPage.unwrap(SleepGuard.unwrap(page));
+        for (BranchProfile branch : profile.branches) {
+            long start = System.nanoTime();
+            try {
+                int count = target.locator(branch.selector).count();
+                branch.record(System.nanoTime() - start, count);
+            } catch (Exception e) {
+                logger.warn("Could not profile selector " + branch.selector + ": " + e.getMessage());
+                branch.record(System.nanoTime() - start, 0);
+            }
+        }
+    }
+
+    public static boolean hasProfiles() {
+        return !profiles.isEmpty();
+    }
+
+    /**
+     * Profiles of every element, by name (e.g. "ContactPage.MESSAGE_TEXTAREA"), with the
+     * recommended alternative of each
+     */
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, ElementProfile> entry : new TreeMap<>(profiles).entrySet()) {
+            ElementProfile profile = entry.getValue();
+            BranchProfile recommended = profile.recommend();
+            JsonObject element = new JsonObject();
+            element.addProperty("selector", profile.element.getSelector());
+            element.addProperty("samples", profile.samples.get());
+            element.addProperty("recommended", recommended.selector);
+            JsonArray branches = new JsonArray();
+            for (BranchProfile branch : profile.branches) {
+                JsonObject branchJson = branch.timing.toJson();
+                branchJson.addProperty("selector", branch.selector);
+                branchJson.addProperty("matched", branch.matched.sum());
+                branchJson.addProperty("meanElements", round(branch.getMeanElements()));
+                branchJson.addProperty("stability", STABILITY[branch.stability]);
+                branches.add(branchJson);
+            }
+            element.add("branches", branches);
+            json.add(entry.getKey(), element);
+        }
+        return json;
+    }
+
+    /**
+     * Human-readable advice: per element, how each alternative did and which one to keep
+     */
+    public static String toReport() {
+        StringBuilder report = new StringBuilder("Selector profile\n");
+        for (Map.Entry<String, ElementProfile> entry : new TreeMap<>(profiles).entrySet()) {
+            ElementProfile profile = entry.getValue();
+            BranchProfile recommended = profile.recommend();
+            report.append('\n').append(entry.getKey()).append(" (").append(profile.samples.get()).append(" samples)");
+            if (profile.element.isUnion()) {
+                report.append(" -> use ").append(recommended.selector);
+            } else if (recommended.stability < 2) {
+                report.append(" -> add a test id, id, role or name alternative");
+            }
+            report.append('\n');
+            for (BranchProfile branch : profile.branches) {
+                report.append(String.format("  %s %-50s matched %d/%d  %.1f elements  p50=%.2fms  %s%n",
+                        branch == recommended ? "*" : " ", branch.selector, branch.matched.sum(),
+                        branch.timing.getCount(), branch.getMeanElements(), branch.timing.getPercentileMillis(50),
+                        STABILITY[branch.stability]));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Name of the constant declaring an element in the page object or its superclasses, or its
+     * selector if it was not declared in one
+     */
+    private static String nameOf(Class<?> pageObject, Element element) {
+        for (Class<?> type = pageObject; type != null && type != Object.class; type = type.getSuperclass()) {
+            String name = elementNames.computeIfAbsent(type, SelectorProfiler::declaredElements).get(element);
+            if (name != null) {
+                return name;
+            }
+        }
+        return element.getSelector();
+    }
+
+    private static Map<Element, String> declaredElements(Class<?> type) {
+        Map<Element, String> names = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getType() == Element.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    field.setAccessible(true);
+                    names.put((Element) field.get(null), type.getSimpleName() + "." + field.getName());
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    logger.debug("Cannot read element " + field + ": " + e.getMessage());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * How much a selector depends on things that change without the element changing: 3 for
+     * test ids, ids, roles and names, 2 for other attributes and classes, 1 for text, 0 for a
+     * bare tag name
+     */
+    static int stabilityOf(String selector) {
+        String lower = selector.toLowerCase();
+        if (BARE_TAG.matcher(selector).matches()) {
+            return 0;
+        }
+        if (lower.startsWith("text=") || lower.contains(":has-text(") || lower.contains(":text(")
+                || lower.contains("*=")) {
+            return 1;
+        }
+        if (lower.contains("data-testid") || lower.contains("[id=") || lower.startsWith("#")
+                || lower.contains("[role=") || lower.startsWith("role=") || lower.contains("[name=")) {
+            return 3;
+        }
+        return 2;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class ElementProfile {
+        private final Element element;
+        private final List<BranchProfile> branches = new ArrayList<>();
+        private final AtomicLong samples = new AtomicLong();
+
+        ElementProfile(Element element) {
+            this.element = element;
+            for (String branch : element.getBranches()) {
+                branches.add(new BranchProfile(branch));
+            }
+        }
+
+        boolean claimSample(int max) {
+            while (true) {
+                long taken = samples.get();
+                if (taken >= max) {
+                    return false;
+                }
+                if (samples.compareAndSet(taken, taken + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        BranchProfile recommend() {
+            BranchProfile best = branches.get(0);
+            for (BranchProfile candidate : branches) {
+                if (candidate.isBetterThan(best)) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class BranchProfile {
+        private final String selector;
+        private final int stability;
+        private final LatencyHistogram timing = new LatencyHistogram();
+        private final LongAdder matched = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+
+        BranchProfile(String selector) {
+            this.selector = selector;
+            this.stability = stabilityOf(selector);
+        }
+
+        void record(long nanos, int count) {
+            timing.recordNanos(nanos);
+            elements.add(count);
+            if (count > 0) {
+                matched.increment();
+            }
+        }
+
+        double getMeanElements() {
+            long runs = timing.getCount();
+            return runs == 0 ? 0 : (double) elements.sum() / runs;
+        }
+
+        boolean isBetterThan(BranchProfile other) {
+            if (matched.sum() != other.matched.sum()) {
+                return matched.sum() > other.matched.sum();
+            }
+            boolean unique = getMeanElements() == 1;
+            if (unique != (other.getMeanElements() == 1)) {
+                return unique;
+            }
+            if (stability != other.stability) {
+                return stability > other.stability;
+            }
+            return timing.getPercentileMillis(50) < other.timing.getPercentileMillis(50);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.chirangv.pages;
+
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the visibility of many texts and selectors in a single in-page evaluation.
+ *
+ * Texts are matched case-insensitively against the page's rendered text, like an unquoted
+ * Playwright {@code text=} selector. CSS selectors are resolved with querySelectorAll;
+ * selectors that use Playwright-only syntax (text=, :has-text, >>) cannot run in the page
+ * and are checked one by one with a locator instead.
+ */
+public class VisibilityProbe {
+    private static final Logger logger = LoggerFactory.getLogger(VisibilityProbe.class);
+
+    private static final String PROBE_SCRIPT =
+            "({ texts, selectors }) => {\n"
+            + "  const normalize = s => s.replace(/\\s+/g, ' ').trim().toLowerCase();\n"
+            + "  const bodyText = normalize(document.body ? document.body.innerText : '');\n"
+            + "  const isVisible = el => {\n"
+            + "    const style = getComputedStyle(el);\n"
+            + "    if (style.visibility !== 'visible' || style.display === 'none') return false;\n"
+            + "    const rect = el.getBoundingClientRect();\n"
+            + "    return rect.width > 0 && rect.height > 0;\n"
+            + "  };\n"
+            + "  const result = {};\n"
+            + "  for (const [name, text] of Object.entries(texts)) result[name] = bodyText.includes(normalize(text));\n"
+            + "  for (const [name, selector] of Object.entries(selectors)) {\n"
+            + "    try {\n"
+            + "      result[name] = Array.from(document.querySelectorAll(selector)).some(isVisible);\n"
+            + "    } catch (e) {\n"
+            + "      result[name] = null;\n"
+            + "    }\n"
+            + "  }\n"
+            + "  return result;\n"
+            + "}";
+
+    private final Page page;
+    private final List<String> order = new ArrayList<>();
+    private final Map<String, String> texts = new LinkedHashMap<>();
+    private final Map<String, String> selectors = new LinkedHashMap<>();
+
+    VisibilityProbe(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Probe for visible text; the text itself is used as the item name
+     */
+    public VisibilityProbe text(String text) {
+        return text(text, text);
+    }
+
+    /**
+     * Probe for visible text under the given item name
+     */
+    public VisibilityProbe text(String name, String text) {
+        order.add(name);
+        texts.put(name, text);
+        return this;
+    }
+
+    /**
+     * Probe for a visible element matching the selector under the given item name
+     */
+    public VisibilityProbe selector(String name, String selector) {
+        order.add(name);
+        selectors.put(name, selector);
+        return this;
+    }
+
+    /**
+     * Probe for a visible declared element under the given item name
+     */
+    public VisibilityProbe selector(String name, Element element) {
+        return selector(name, element.getSelector());
+    }
+
+    /**
+     * Evaluate every item and report which ones are visible
+     */
+    @SuppressWarnings("unchecked")
+    public ProbeResult run() {
+        Map<String, Object> arg = new HashMap<>();
+        arg.put("texts", texts);
+        arg.put("selectors", selectors);
+
+        Map<String, Object> raw;
+        try {
+            raw = (Map<String, Object>) page.evaluate(PROBE_SCRIPT, arg);
+        } catch (Exception e) {
+            logger.error("Visibility probe failed: " + e.getMessage());
+            raw = new HashMap<>();
+        }
+
+        Map<String, Boolean> visibility = new LinkedHashMap<>();
+        for (String name : order) {
+            Object value = raw.get(name);
+            if (value instanceof Boolean) {
+                visibility.put(name, (Boolean) value);
+            } else {
+                // Not resolvable in the page (Playwright-only selector syntax) - ask the driver
+                visibility.put(name, isVisibleViaLocator(name));
+            }
+        }
+
+        ProbeResult result = new ProbeResult(visibility);
+        if (!result.allVisible()) {
+            logger.warn("Items not visible: " + result.missing());
+        }
+        return result;
+    }
+
+    private boolean isVisibleViaLocator(String name) {
+        String selector = selectors.containsKey(name) ? selectors.get(name) : "text=" + texts.get(name);
+        try {
+            Element element = selectors.containsKey(name) ? Element.of(selector) : Element.text(texts.get(name));
+            return LocatorRegistry.get(page, element).first().isVisible();
+        } catch (Exception e) {
+            logger.error("Element not found: " + selector);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.chirangv.perf;
+
+import com.chirangv.artifacts.ArtifactWriter;
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved performance budget of a page object: the {@link PerformanceBudget} annotation on
+ * the class, with any budget.&lt;PageObject&gt;.&lt;metric&gt; keys from config.properties on top.
+ *
+ * budget.mode (or budget.&lt;PageObject&gt;.mode) decides what a violation does: fail throws
+ * {@link PerformanceBudgetExceededError}, warn logs it; both attach the report to the test.
+ *
+ * Budgets only hold a load to account for what the site itself sent. When the load was
+ * routed, request and byte budgets are reported as unchecked, and so is LCP if the policy
+ * could block images, media or fonts; when it was replayed from a HAR archive, every budget
+ * is. Page objects avoid that by measuring a routed page again directly (budget.verifyDirect).
+ */
+public class Budget {
+    private static final Logger logger = LoggerFactory.getLogger(Budget.class);
+    private static final Map<Class<?>, Budget> budgets = new ConcurrentHashMap<>();
+
+    private final String pageObject;
+    private final Map<String, Long> limits;
+    private final boolean failOnViolation;
+
+    Budget(String pageObject, Map<String, Long> limits, boolean failOnViolation) {
+        this.pageObject = pageObject;
+        this.limits = limits;
+        this.failOnViolation = failOnViolation;
+    }
+
+    /**
+     * Get the budget of a page object class
+     */
+    public static Budget forPageObject(Class<?> pageObjectClass) {
+        return budgets.computeIfAbsent(pageObjectClass, Budget::resolve);
+    }
+
+    private static Budget resolve(Class<?> pageObjectClass) {
+        String name = pageObjectClass.getSimpleName();
+        PerformanceBudget declared = pageObjectClass.getAnnotation(PerformanceBudget.class);
+
+        Map<String, Long> limits = new LinkedHashMap<>();
+        limits.put("ttfb", limit(name, "ttfb", declared == null ? -1 : declared.ttfb()));
+        limits.put("lcp", limit(name, "lcp", declared == null ? -1 : declared.lcp()));
+        limits.put("requests", limit(name, "requests", declared == null ? -1 : declared.requests()));
+        limits.put("jsBytes", limit(name, "jsBytes", declared == null ? -1 : declared.jsBytes()));
+        limits.put("transferBytes", limit(name, "transferBytes", declared == null ? -1 : declared.transferBytes()));
+        limits.values().removeIf(limit -> limit < 0);
+
+        String mode = ConfigReader.getProperty("budget." + name + ".mode",
+                ConfigReader.getProperty("budget.mode", "warn"));
+        return new Budget(name, limits, "fail".equalsIgnoreCase(mode));
+    }
+
+    private static long limit(String pageObject, String metric, long declared) {
+        return Long.parseLong(ConfigReader.getProperty("budget." + pageObject + "." + metric, String.valueOf(declared)));
+    }
+
+    public boolean isEmpty() {
+        return limits.isEmpty();
+    }
+
+    /**
+     * Budgeted metrics and their limits
+     */
+    public Map<String, Long> getLimits() {
+        return limits;
+    }
+
+    /**
+     * Compare a page load with the budget without acting on the result
+     */
+    public BudgetReport check(PageMetrics metrics) {
+        List<BudgetViolation> violations = new ArrayList<>();
+        Map<String, String> unchecked = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : limits.entrySet()) {
+            String skipped = skipReason(metrics, entry.getKey());
+            Double actual = skipped != null ? null : actual(metrics, entry.getKey());
+            if (skipped != null) {
+                unchecked.put(entry.getKey(), skipped);
+            } else if (actual == null) {
+                unchecked.put(entry.getKey(), "not reported by the browser");
+            } else if (actual > entry.getValue()) {
+                violations.add(new BudgetViolation(entry.getKey(), entry.getValue(), actual, unit(entry.getKey())));
+            }
+        }
+        return new BudgetReport(pageObject, metrics.getUrl(), violations, unchecked);
+    }
+
+    /**
+     * Check a page load and fail or warn according to the budget mode
+     */
+    public BudgetReport verify(PageMetrics metrics) {
+        BudgetReport report = check(metrics);
+        if (report.isWithinBudget()) {
+            logger.info(report.toString());
+            return report;
+        }
+        ArtifactWriter.getInstance().attachText("Performance Budget - " + pageObject, report.toString());
+        if (failOnViolation) {
+            throw new PerformanceBudgetExceededError(report);
+        }
+        logger.warn(report.toString());
+        return report;
+    }
+
+    /**
+     * Why a metric of this load cannot be held to its budget, or null if it can
+     */
+    private static String skipReason(PageMetrics metrics, String metric) {
+        if (PageMetrics.NETWORK_REPLAYED.equals(metrics.getNetwork())) {
+            return "replayed from a HAR archive";
+        }
+        boolean networkMetric = "requests".equals(metric) || metric.endsWith("Bytes");
+        if (networkMetric && !metrics.isDirect()) {
+            return "network routing blocked or cached requests";
+        }
+        if ("lcp".equals(metric) && metrics.isRenderedContentBlocked()) {
+            return "network routing could block images, media or fonts";
+        }
+        return null;
+    }
+
+    /**
+     * Check whether routing keeps some budgeted metric of this load from being checked, so a
+     * direct load of the page would check more
+     */
+    public boolean needsDirectLoad(PageMetrics metrics) {
+        if (!PageMetrics.NETWORK_ROUTED.equals(metrics.getNetwork())) {
+            return false;
+        }
+        for (String metric : limits.keySet()) {
+            if (skipReason(metrics, metric) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unit(String metric) {
+        if (metric.endsWith("Bytes")) {
+            return "bytes";
+        }
+        return "requests".equals(metric) ? "requests" : "ms";
+    }
+
+    private static Double actual(PageMetrics metrics, String metric) {
+        switch (metric) {
+            case "ttfb":
+                return metrics.getTtfb();
+            case "lcp":
+                return metrics.getLargestContentfulPaint();
+            case "requests":
+                return (double) metrics.getRequestCount();
+            case "jsBytes":
+                return (double) metrics.getJsBytes();
+            case "transferBytes":
+                return (double) metrics.getTransferBytes();
+            default:
+                return null;
+        }
+    }
+}
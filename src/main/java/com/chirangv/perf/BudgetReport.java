@@ -0,0 +1,61 @@
+package com.chirangv.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of checking one page load against its page object's budget
+ */
+public class BudgetReport {
+    private final String pageObject;
+    private final String url;
+    private final List<BudgetViolation> violations;
+    private final Map<String, String> unchecked;
+
+    BudgetReport(String pageObject, String url, List<BudgetViolation> violations, Map<String, String> unchecked) {
+        this.pageObject = pageObject;
+        this.url = url;
+        this.violations = Collections.unmodifiableList(violations);
+        this.unchecked = Collections.unmodifiableMap(new LinkedHashMap<>(unchecked));
+    }
+
+    public boolean isWithinBudget() {
+        return violations.isEmpty();
+    }
+
+    public List<BudgetViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Budgeted metrics that were not checked, e.g. LCP outside Chromium or byte counts of a
+     * routed load
+     */
+    public List<String> getUnchecked() {
+        return new ArrayList<>(unchecked.keySet());
+    }
+
+    /**
+     * Why each unchecked metric was not checked, by metric
+     */
+    public Map<String, String> getUncheckedReasons() {
+        return unchecked;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Performance budget of ").append(pageObject).append(" (")
+                .append(url).append("): ");
+        report.append(violations.isEmpty() ? "within budget" : violations.size() + " exceeded");
+        for (BudgetViolation violation : violations) {
+            report.append("\n  ").append(violation);
+        }
+        for (Map.Entry<String, String> entry : unchecked.entrySet()) {
+            report.append("\n  ").append(entry.getKey()).append(" not checked: ").append(entry.getValue());
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.chirangv.perf;
+
+/**
+ * A metric that went over its budget
+ */
+public class BudgetViolation {
+    private final String metric;
+    private final double limit;
+    private final double actual;
+    private final String unit;
+
+    BudgetViolation(String metric, double limit, double actual, String unit) {
+        this.metric = metric;
+        this.limit = limit;
+        this.actual = actual;
+        this.unit = unit;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public double getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        long over = Math.round(actual - limit);
+        return String.format("%-14s budget %,d %s, actual %,d %s (+%,d, +%.0f%%)", metric, Math.round(limit), unit,
+                Math.round(actual), unit, over, limit > 0 ? (actual - limit) * 100 / limit : 100.0);
+    }
+}
@@ -0,0 +1,249 @@
+package com.chirangv.perf;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance of one page load as reported by the browser.
+ *
+ * Times are milliseconds from the start of navigation. Metrics a browser does not support
+ * (largest contentful paint and layout shift exist only in Chromium) are null. Byte counts
+ * cover same-origin resources plus cross-origin ones that send Timing-Allow-Origin; others
+ * report zero transfer size and only count as requests.
+ *
+ * The network a load went through is part of the record: "direct" for the real network,
+ * "routed" when the {@link com.chirangv.network.NetworkRouter} blocked requests or served
+ * assets from its cache (both listed), "replayed" when traffic came from a HAR archive.
+ * Only direct loads describe how the site itself performs.
+ */
+public class PageMetrics {
+    public static final String NETWORK_DIRECT = "direct";
+    public static final String NETWORK_ROUTED = "routed";
+    public static final String NETWORK_REPLAYED = "replayed";
+
+    private final String pageObject;
+    private final String url;
+    private final long capturedAt;
+    private final double timeOrigin;
+    private final String navigationType;
+    private final Double ttfb;
+    private final Double domContentLoaded;
+    private final Double load;
+    private final Double firstPaint;
+    private final Double firstContentfulPaint;
+    private final Double largestContentfulPaint;
+    private final Double cumulativeLayoutShift;
+    private final long transferBytes;
+    private final long requestCount;
+    private final long jsBytes;
+    private String network = NETWORK_DIRECT;
+    private String networkPolicy;
+    private boolean renderedContentBlocked;
+    private List<String> blockedUrls = Collections.emptyList();
+    private List<String> cachedUrls = Collections.emptyList();
+
+    PageMetrics(String pageObject, long capturedAt, Map<?, ?> raw) {
+        this.pageObject = pageObject;
+        this.capturedAt = capturedAt;
+        this.url = String.valueOf(raw.get("url"));
+        this.timeOrigin = number(raw, "timeOrigin") == null ? 0 : number(raw, "timeOrigin");
+        this.navigationType = raw.get("navigationType") == null ? null : String.valueOf(raw.get("navigationType"));
+        this.ttfb = number(raw, "ttfb");
+        this.domContentLoaded = number(raw, "domContentLoaded");
+        this.load = number(raw, "load");
+        this.firstPaint = number(raw, "firstPaint");
+        this.firstContentfulPaint = number(raw, "firstContentfulPaint");
+        this.largestContentfulPaint = number(raw, "largestContentfulPaint");
+        this.cumulativeLayoutShift = number(raw, "cumulativeLayoutShift");
+        this.transferBytes = count(raw, "transferBytes");
+        this.requestCount = count(raw, "requestCount");
+        this.jsBytes = count(raw, "jsBytes");
+    }
+
+    /**
+     * Record that the load did not go straight to the real network
+     */
+    void recordNetwork(String network, String networkPolicy, boolean renderedContentBlocked,
+                       List<String> blockedUrls, List<String> cachedUrls) {
+        this.network = network;
+        this.networkPolicy = networkPolicy;
+        this.renderedContentBlocked = renderedContentBlocked;
+        this.blockedUrls = blockedUrls;
+        this.cachedUrls = cachedUrls;
+    }
+
+    public String getPageObject() {
+        return pageObject;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * performance.timeOrigin of the document; identifies the navigation
+     */
+    public double getTimeOrigin() {
+        return timeOrigin;
+    }
+
+    public String getNavigationType() {
+        return navigationType;
+    }
+
+    /**
+     * Time to first byte of the document response
+     */
+    public Double getTtfb() {
+        return ttfb;
+    }
+
+    public Double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public Double getLoad() {
+        return load;
+    }
+
+    public Double getFirstPaint() {
+        return firstPaint;
+    }
+
+    public Double getFirstContentfulPaint() {
+        return firstContentfulPaint;
+    }
+
+    public Double getLargestContentfulPaint() {
+        return largestContentfulPaint;
+    }
+
+    public Double getCumulativeLayoutShift() {
+        return cumulativeLayoutShift;
+    }
+
+    /**
+     * Bytes transferred for the document and its resources, headers included
+     */
+    public long getTransferBytes() {
+        return transferBytes;
+    }
+
+    /**
+     * Number of requests: the document plus every resource it loaded
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * Bytes transferred for scripts
+     */
+    public long getJsBytes() {
+        return jsBytes;
+    }
+
+    /**
+     * How the load reached the network: direct, routed or replayed
+     */
+    public String getNetwork() {
+        return network;
+    }
+
+    /**
+     * Check whether the load went straight to the real network, so sizes and request counts
+     * are the site's own
+     */
+    public boolean isDirect() {
+        return NETWORK_DIRECT.equals(network);
+    }
+
+    /**
+     * Check whether the router's policy could block images, media or fonts during the load,
+     * which makes paint timings unrepresentative
+     */
+    public boolean isRenderedContentBlocked() {
+        return renderedContentBlocked;
+    }
+
+    /**
+     * Requests the router blocked during the load
+     */
+    public List<String> getBlockedUrls() {
+        return blockedUrls;
+    }
+
+    /**
+     * Requests the router served from its static asset cache during the load
+     */
+    public List<String> getCachedUrls() {
+        return cachedUrls;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("pageObject", pageObject);
+        json.addProperty("url", url);
+        json.addProperty("capturedAt", capturedAt);
+        json.addProperty("timeOrigin", timeOrigin);
+        json.addProperty("navigationType", navigationType);
+        json.addProperty("ttfb", ttfb);
+        json.addProperty("domContentLoaded", domContentLoaded);
+        json.addProperty("load", load);
+        json.addProperty("firstPaint", firstPaint);
+        json.addProperty("firstContentfulPaint", firstContentfulPaint);
+        json.addProperty("largestContentfulPaint", largestContentfulPaint);
+        json.addProperty("cumulativeLayoutShift", cumulativeLayoutShift);
+        json.addProperty("transferBytes", transferBytes);
+        json.addProperty("requestCount", requestCount);
+        json.addProperty("jsBytes", jsBytes);
+        json.addProperty("network", network);
+        if (NETWORK_ROUTED.equals(network)) {
+            json.addProperty("networkPolicy", networkPolicy);
+            json.addProperty("renderedContentBlocked", renderedContentBlocked);
+            json.add("blockedRequests", urls(blockedUrls));
+            json.add("servedFromCache", urls(cachedUrls));
+        }
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return pageObject + " " + url + ": TTFB " + millis(ttfb) + ", FCP " + millis(firstContentfulPaint)
+                + ", LCP " + millis(largestContentfulPaint) + ", load " + millis(load)
+                + ", CLS " + (cumulativeLayoutShift == null ? "n/a" : String.format("%.3f", cumulativeLayoutShift))
+                + ", " + requestCount + " requests, " + transferBytes + " bytes (" + jsBytes + " JS)"
+                + (NETWORK_ROUTED.equals(network) ? " [routed: " + blockedUrls.size() + " blocked, "
+                        + cachedUrls.size() + " from cache]" : isDirect() ? "" : " [" + network + "]");
+    }
+
+    private static JsonArray urls(List<String> urls) {
+        JsonArray array = new JsonArray();
+        for (String url : urls) {
+            array.add(url);
+        }
+        return array;
+    }
+
+    private static String millis(Double value) {
+        return value == null ? "n/a" : Math.round(value) + " ms";
+    }
+
+    private static Double number(Map<?, ?> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    private static long count(Map<?, ?> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
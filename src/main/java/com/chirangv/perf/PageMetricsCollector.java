@@ -0,0 +1,162 @@
+package com.chirangv.perf;
+
+import com.chirangv.artifacts.ArtifactWriter;
+import com.chirangv.metrics.InstrumentedPage;
+import com.chirangv.network.NetworkRouter;
+import com.chirangv.network.RunMode;
+import com.chirangv.utils.ConfigReader;
+import com.chirangv.wait.SleepGuard;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Reads Navigation Timing, paint, largest contentful paint, layout shift and resource
+ * transfer data from the browser after a page has loaded.
+ *
+ * Each navigation is captured once: it is attached to the current Allure test and appended
+ * as one JSON line to the run's time-series file, perf.metricsDir/page-metrics-&lt;runId&gt;.ndjson.
+ * Lines carry perf.release when it is set, so files from several releases can be compared,
+ * and which network the load went through: only "direct" loads are comparable, since routed
+ * loads skip blocked requests and take cached assets from disk, and replayed ones come
+ * from a HAR archive. Compare direct loads only, or capture with network.routing=false.
+ *
+ * Configuration (config.properties):
+ * - perf.metrics: capture metrics on every page load (default true)
+ * - perf.metricsDir: directory of the time-series files (default target/metrics)
+ * - perf.runId: name of this run's file (default the start time, yyyyMMdd-HHmmss)
+ * - perf.release: free-form label of the site version under test
+ */
+public final class PageMetricsCollector {
+    private static final Logger logger = LoggerFactory.getLogger(PageMetricsCollector.class);
+
+    // Buffered performance observers deliver their entries asynchronously, hence the timeout
+    private static final String METRICS_SCRIPT =
+            "async () => {\n"
+                    + "  const nav = performance.getEntriesByType('navigation')[0];\n"
+                    + "  const paint = name => { const e = performance.getEntriesByName(name)[0]; return e ? e.startTime : null; };\n"
+                    + "  const supported = PerformanceObserver.supportedEntryTypes || [];\n"
+                    + "  const observe = type => new Promise(resolve => {\n"
+                    + "    if (!supported.includes(type)) { resolve(null); return; }\n"
+                    + "    let entries = [];\n"
+                    + "    const observer = new PerformanceObserver(list => { entries = entries.concat(list.getEntries()); });\n"
+                    + "    observer.observe({type: type, buffered: true});\n"
+                    + "    setTimeout(() => { entries = entries.concat(observer.takeRecords()); observer.disconnect(); resolve(entries); }, 0);\n"
+                    + "  });\n"
+                    + "  const lcp = await observe('largest-contentful-paint');\n"
+                    + "  const shifts = await observe('layout-shift');\n"
+                    + "  const resources = performance.getEntriesByType('resource');\n"
+                    + "  let transferBytes = nav ? nav.transferSize : 0;\n"
+                    + "  let jsBytes = 0;\n"
+                    + "  for (const r of resources) {\n"
+                    + "    transferBytes += r.transferSize;\n"
+                    + "    if (r.initiatorType === 'script' || /\\.m?js(\\?|$)/.test(r.name)) jsBytes += r.transferSize;\n"
+                    + "  }\n"
+                    + "  return {\n"
+                    + "    url: location.href,\n"
+                    + "    timeOrigin: performance.timeOrigin,\n"
+                    + "    navigationType: nav ? nav.type : null,\n"
+                    + "    ttfb: nav ? nav.responseStart : null,\n"
+                    + "    domContentLoaded: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,\n"
+                    + "    load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null,\n"
+                    + "    firstPaint: paint('first-paint'),\n"
+                    + "    firstContentfulPaint: paint('first-contentful-paint'),\n"
+                    + "    largestContentfulPaint: lcp && lcp.length ? lcp[lcp.length - 1].startTime : null,\n"
+                    + "    cumulativeLayoutShift: shifts ? shifts.filter(s => !s.hadRecentInput).reduce((sum, s) => sum + s.value, 0) : null,\n"
+                    + "    transferBytes: transferBytes,\n"
+                    + "    requestCount: resources.length + (nav ? 1 : 0),\n"
+                    + "    jsBytes: jsBytes\n"
+                    + "  };\n"
+                    + "}";
+
+    private static final String RUN_ID = ConfigReader.getProperty("perf.runId",
+            new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+
+    // Last captured navigation (performance.timeOrigin) per page
+    private static final Map<Page, Double> capturedNavigations = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PageMetricsCollector() {
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("perf.metrics", true);
+    }
+
+    /**
+     * Capture the metrics of the document currently loaded in the page and publish them,
+     * unless this navigation was captured already
+     *
+     * @return the metrics, or null if the navigation was already captured or the browser
+     * could not report them
+     */
+    public static PageMetrics capture(Page page, String pageObject) {
+        Page target = InstrumentedPage.unwrap(SleepGuard.unwrap(page));
+        PageMetrics metrics;
+        try {
+            metrics = new PageMetrics(pageObject, System.currentTimeMillis(), (Map<?, ?>) page.evaluate(METRICS_SCRIPT));
+        } catch (PlaywrightException | ClassCastException e) {
+            logger.warn("Could not read page metrics for " + pageObject + ": " + e.getMessage());
+            return null;
+        }
+        Double previous = capturedNavigations.put(target, metrics.getTimeOrigin());
+        if (previous != null && previous == metrics.getTimeOrigin()) {
+            return null;
+        }
+        recordNetwork(page, metrics);
+        publish(metrics);
+        return metrics;
+    }
+
+    /**
+     * Time-series file of this run
+     */
+    public static Path getRunFile() {
+        return Paths.get(ConfigReader.getProperty("perf.metricsDir", "target/metrics"),
+                "page-metrics-" + RUN_ID + ".ndjson");
+    }
+
+    private static void recordNetwork(Page page, PageMetrics metrics) {
+        if (RunMode.fromConfig() == RunMode.REPLAY) {
+            metrics.recordNetwork(PageMetrics.NETWORK_REPLAYED, null, false,
+                    Collections.emptyList(), Collections.emptyList());
+            return;
+        }
+        NetworkRouter router = NetworkRouter.forPage(page);
+        if (router == null) {
+            return;
+        }
+        // Taken on every capture so each load lists only its own requests
+        List<String> blocked = router.takeBlockedUrls();
+        List<String> cached = router.takeCachedUrls();
+        if (!router.getPolicy().isAllowAll()) {
+            metrics.recordNetwork(PageMetrics.NETWORK_ROUTED, router.getPolicy().toString(),
+                    router.getPolicy().blocksRenderedContent(), blocked, cached);
+        }
+    }
+
+    private static void publish(PageMetrics metrics) {
+        logger.info("Page metrics: " + metrics);
+        JsonObject json = metrics.toJson();
+        json.addProperty("runId", RUN_ID);
+        String release = ConfigReader.getProperty("perf.release");
+        if (release != null && !release.trim().isEmpty()) {
+            json.addProperty("release", release.trim());
+        }
+        ArtifactWriter writer = ArtifactWriter.getInstance();
+        writer.attach("Page Metrics - " + metrics.getPageObject(), "application/json", "json",
+                json.toString().getBytes(StandardCharsets.UTF_8));
+        writer.append(getRunFile(), (json + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
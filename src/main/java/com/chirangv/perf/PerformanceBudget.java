@@ -0,0 +1,30 @@
+package com.chirangv.perf;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Performance limits for the pages a page object loads. A negative value means no limit.
+ * Each limit can be overridden in config.properties as budget.&lt;PageObject&gt;.&lt;name&gt;,
+ * e.g. budget.HomePage.lcp=3000; see {@link Budget}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PerformanceBudget {
+    /** Max time to first byte, ms */
+    long ttfb() default -1;
+
+    /** Max largest contentful paint, ms */
+    long lcp() default -1;
+
+    /** Max number of requests */
+    long requests() default -1;
+
+    /** Max bytes of JavaScript transferred */
+    long jsBytes() default -1;
+
+    /** Max bytes transferred in total */
+    long transferBytes() default -1;
+}
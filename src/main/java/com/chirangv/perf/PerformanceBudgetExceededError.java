@@ -0,0 +1,18 @@
+package com.chirangv.perf;
+
+/**
+ * Thrown when a page load exceeds its budget and budget.mode=fail. It is an AssertionError
+ * so the test is reported as failed rather than broken.
+ */
+public class PerformanceBudgetExceededError extends AssertionError {
+    private final BudgetReport report;
+
+    public PerformanceBudgetExceededError(BudgetReport report) {
+        super(report.toString());
+        this.report = report;
+    }
+
+    public BudgetReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,99 @@
+package com.chirangv.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Combines the Allure result directories of several shards into one, so a single report
+ * covers the whole run.
+ *
+ * Result, container and attachment files have unique names and are copied as they are;
+ * environment.properties files are merged line by line, and for any other clash the first
+ * shard's copy wins.
+ *
+ * Usage: mvn exec:java -Dexec.mainClass=com.chirangv.scheduling.AllureResultsMerger
+ * -Dexec.args="target/allure-results shard-0/allure-results shard-1/allure-results"
+ */
+public final class AllureResultsMerger {
+    private static final Logger logger = LoggerFactory.getLogger(AllureResultsMerger.class);
+    private static final String ENVIRONMENT = "environment.properties";
+
+    private AllureResultsMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: AllureResultsMerger <target dir> <shard results dir>...");
+            System.exit(2);
+        }
+        List<Path> sources = new ArrayList<>();
+        for (String source : Arrays.copyOfRange(args, 1, args.length)) {
+            sources.add(Paths.get(source));
+        }
+        merge(Paths.get(args[0]), sources);
+    }
+
+    /**
+     * Copy every shard directory into the target directory
+     *
+     * @return number of files copied
+     */
+    public static int merge(Path target, List<Path> shardDirs) {
+        int copied = 0;
+        int skipped = 0;
+        Set<String> environment = new LinkedHashSet<>();
+        try {
+            Files.createDirectories(target);
+            Path targetEnvironment = target.resolve(ENVIRONMENT);
+            if (Files.exists(targetEnvironment)) {
+                environment.addAll(Files.readAllLines(targetEnvironment, StandardCharsets.UTF_8));
+            }
+            for (Path dir : shardDirs) {
+                if (!Files.isDirectory(dir)) {
+                    logger.warn("Shard results not found: " + dir);
+                    continue;
+                }
+                if (dir.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize())) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        if (!Files.isRegularFile(file)) {
+                            continue;
+                        }
+                        String name = file.getFileName().toString();
+                        if (ENVIRONMENT.equals(name)) {
+                            environment.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+                        } else if (Files.exists(target.resolve(name))) {
+                            skipped++;
+                        } else {
+                            Files.copy(file, target.resolve(name));
+                            copied++;
+                        }
+                    }
+                }
+            }
+            if (!environment.isEmpty()) {
+                Files.write(targetEnvironment, environment, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge Allure results into " + target, e);
+        }
+        logger.info("Merged " + shardDirs.size() + " shard result directories into " + target + ": "
+                + copied + " files copied, " + skipped + " duplicates skipped");
+        return copied;
+    }
+}
@@ -0,0 +1,25 @@
+package com.chirangv.scheduling;
+
+import com.chirangv.utils.ConfigReader;
+
+/**
+ * How to order test methods within a run, configured with schedule.order
+ */
+public enum ScheduleOrder {
+    /** Keep the order of testng.xml */
+    DECLARED,
+    /** Start the slowest work first so it does not become the tail of the run */
+    LONGEST_FIRST,
+    /** Start what failed most often recently, for fast feedback */
+    FAIL_FIRST;
+
+    public static ScheduleOrder fromConfig() {
+        String order = ConfigReader.getProperty("schedule.order", "declared");
+        try {
+            return valueOf(order.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown schedule.order: " + order
+                    + " (expected declared, longest-first or fail-first)");
+        }
+    }
+}
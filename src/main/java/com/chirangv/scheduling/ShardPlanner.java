@@ -0,0 +1,71 @@
+package com.chirangv.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits test methods into shards of similar total duration with the longest-processing-time
+ * rule: methods are taken longest first and each goes to the shard with the least work so far.
+ *
+ * The plan depends only on the method names and their durations, so every shard that sees the
+ * same methods and the same history computes the same plan and runs a disjoint part of it.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Assign every method to one of shardCount shards
+     *
+     * @return method name to shard index
+     */
+    public static Map<String, Integer> plan(Collection<String> methods, int shardCount,
+                                            ToLongFunction<String> expectedDurationMillis) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1: " + shardCount);
+        }
+        List<String> ordered = new ArrayList<>(new TreeSet<>(methods));
+        Map<String, Long> durations = new HashMap<>();
+        for (String method : ordered) {
+            durations.put(method, expectedDurationMillis.applyAsLong(method));
+        }
+        ordered.sort(Comparator.comparing((String method) -> durations.get(method)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        PriorityQueue<long[]> loads = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(load -> load[0]).thenComparingLong(load -> load[1]));
+        for (int shard = 0; shard < shardCount; shard++) {
+            loads.add(new long[]{0, shard});
+        }
+
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String method : ordered) {
+            long[] lightest = loads.poll();
+            assignment.put(method, (int) lightest[1]);
+            lightest[0] += durations.get(method);
+            loads.add(lightest);
+        }
+        return Collections.unmodifiableMap(assignment);
+    }
+
+    /**
+     * Expected total duration of each shard under a plan
+     */
+    public static long[] shardDurations(Map<String, Integer> plan, int shardCount,
+                                        ToLongFunction<String> expectedDurationMillis) {
+        long[] totals = new long[shardCount];
+        for (Map.Entry<String, Integer> entry : plan.entrySet()) {
+            totals[entry.getValue()] += expectedDurationMillis.applyAsLong(entry.getKey());
+        }
+        return totals;
+    }
+}
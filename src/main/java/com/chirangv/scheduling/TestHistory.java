@@ -0,0 +1,307 @@
+package com.chirangv.scheduling;
+
+import com.chirangv.browser.BrowserMatrix;
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Past outcomes of test methods, read from the *-result.json files of earlier Allure runs.
+ *
+ * Methods are keyed by their fully qualified name (com.chirangv.tests.HomePageTest.testHomePageLoads),
+ * which is the fullName Allure records for TestNG tests; all invocations of a data-driven
+ * method count towards the same key, and its expected duration is that of all its
+ * invocations in one run.
+ *
+ * The directories should hold results of earlier runs only, e.g. restored from the previous
+ * CI run, never the directory the current run writes into: a plan made from results that
+ * are still being written differs between JVMs. {@link #snapshot()} loads them once per JVM.
+ */
+public class TestHistory {
+    private static final Logger logger = LoggerFactory.getLogger(TestHistory.class);
+
+    private static final String DEFAULT_DIR = ".cache/test-history";
+
+    private final Map<String, MethodHistory> methods;
+
+    TestHistory(Map<String, MethodHistory> methods) {
+        this.methods = Collections.unmodifiableMap(methods);
+    }
+
+    /**
+     * The history this JVM plans with, loaded from history.dir on first use; call it before
+     * any test runs so that every interceptor of the run sees the same history
+     */
+    public static TestHistory snapshot() {
+        return Snapshot.HISTORY;
+    }
+
+    /**
+     * Load the history from history.dir (default .cache/test-history); several directories
+     * can be given, separated by commas
+     */
+    public static TestHistory fromConfig() {
+        List<Path> dirs = new ArrayList<>();
+        for (String dir : ConfigReader.getProperty("history.dir", DEFAULT_DIR).split(",")) {
+            if (!dir.trim().isEmpty()) {
+                dirs.add(Paths.get(dir.trim()));
+            }
+        }
+        return load(dirs);
+    }
+
+    /**
+     * Read every result file in the directories; missing directories and unreadable files are skipped
+     */
+    public static TestHistory load(List<Path> resultDirs) {
+        Map<String, List<Run>> runs = new HashMap<>();
+        int files = 0;
+        for (Path dir : resultDirs) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (DirectoryStream<Path> results = Files.newDirectoryStream(dir, "*-result.json")) {
+                for (Path result : results) {
+                    Run run = readRun(result);
+                    if (run != null) {
+                        runs.computeIfAbsent(run.fullName, key -> new ArrayList<>()).add(run);
+                        files++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot read test history from " + dir + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, MethodHistory> methods = new HashMap<>();
+        for (Map.Entry<String, List<Run>> entry : runs.entrySet()) {
+            methods.put(entry.getKey(), new MethodHistory(entry.getValue()));
+        }
+        logger.info("Loaded test history: " + files + " results for " + methods.size() + " methods");
+        return new TestHistory(methods);
+    }
+
+    /**
+     * History of one method, or null if it never ran
+     */
+    public MethodHistory get(String fullName) {
+        return methods.get(fullName);
+    }
+
+    /**
+     * Expected duration of all invocations of a method in one run, or the default if it never ran
+     */
+    public long expectedDurationMillis(String fullName, long defaultMillis) {
+        MethodHistory history = methods.get(fullName);
+        return history == null ? defaultMillis : history.getExpectedRunMillis();
+    }
+
+    /**
+     * Median of the expected durations of all known methods, or the default if nothing is known;
+     * a reasonable guess for new tests
+     */
+    public long typicalDurationMillis(long defaultMillis) {
+        if (methods.isEmpty()) {
+            return defaultMillis;
+        }
+        List<Long> durations = new ArrayList<>();
+        for (MethodHistory history : methods.values()) {
+            durations.add(history.getExpectedRunMillis());
+        }
+        Collections.sort(durations);
+        return durations.get(durations.size() / 2);
+    }
+
+    public boolean isEmpty() {
+        return methods.isEmpty();
+    }
+
+    private static Run readRun(Path file) {
+        try {
+            JsonObject json = JsonParser.parseString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+            if (!json.has("fullName") || !json.has("start") || !json.has("stop")) {
+                return null;
+            }
+            String status = json.has("status") ? json.get("status").getAsString() : "unknown";
+            long start = json.get("start").getAsLong();
+            return new Run(json.get("fullName").getAsString(), status, start,
+                    Math.max(0, json.get("stop").getAsLong() - start), jvmOf(json), parametersOf(json));
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            logger.warn("Skipping unreadable result " + file.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The JVM that produced a result, from Allure's thread label ("pid@host.thread") and host
+     * label, so results of one run can be told apart from those of another
+     */
+    private static String jvmOf(JsonObject json) {
+        String host = "";
+        String thread = "";
+        if (json.has("labels")) {
+            for (JsonElement label : json.getAsJsonArray("labels")) {
+                JsonObject object = label.getAsJsonObject();
+                String name = object.has("name") ? object.get("name").getAsString() : "";
+                if ("host".equals(name)) {
+                    host = object.get("value").getAsString();
+                } else if ("thread".equals(name)) {
+                    thread = object.get("value").getAsString();
+                }
+            }
+        }
+        int at = thread.indexOf('@');
+        return (at < 0 ? "" : thread.substring(0, at)) + "@" + host;
+    }
+
+    /**
+     * The invocation's data-provider arguments; the matrix cell parameters are left out,
+     * since each cell plans its own run
+     */
+    private static String parametersOf(JsonObject json) {
+        StringBuilder parameters = new StringBuilder();
+        if (json.has("parameters")) {
+            for (JsonElement parameter : json.getAsJsonArray("parameters")) {
+                JsonObject object = parameter.getAsJsonObject();
+                String name = object.has("name") ? object.get("name").getAsString() : "";
+                if (BrowserMatrix.BROWSER_PARAMETER.equals(name) || BrowserMatrix.VIEWPORT_PARAMETER.equals(name)) {
+                    continue;
+                }
+                parameters.append(name).append('=')
+                        .append(object.has("value") ? object.get("value").getAsString() : "").append('\n');
+            }
+        }
+        return parameters.toString();
+    }
+
+    /**
+     * One recorded invocation
+     */
+    static class Run {
+        final String fullName;
+        final String status;
+        final long start;
+        final long durationMillis;
+        final String jvm;
+        final String parameters;
+
+        Run(String fullName, String status, long start, long durationMillis, String jvm, String parameters) {
+            this.fullName = fullName;
+            this.status = status;
+            this.start = start;
+            this.durationMillis = durationMillis;
+            this.jvm = jvm;
+            this.parameters = parameters;
+        }
+
+        boolean isFailure() {
+            return "failed".equals(status) || "broken".equals(status);
+        }
+    }
+
+    /**
+     * Aggregated outcomes of one test method
+     */
+    public static class MethodHistory {
+        private final int runs;
+        private final long medianDurationMillis;
+        private final int invocationsPerRun;
+        private final List<Boolean> failuresNewestFirst;
+
+        MethodHistory(List<Run> runs) {
+            this.runs = runs.size();
+            List<Long> durations = new ArrayList<>();
+            for (Run run : runs) {
+                durations.add(run.durationMillis);
+            }
+            Collections.sort(durations);
+            this.medianDurationMillis = durations.get(durations.size() / 2);
+
+            List<Run> newestFirst = new ArrayList<>(runs);
+            newestFirst.sort((a, b) -> Long.compare(b.start, a.start));
+            List<Boolean> failures = new ArrayList<>();
+            for (Run run : newestFirst) {
+                failures.add(run.isFailure());
+            }
+            this.failuresNewestFirst = Collections.unmodifiableList(failures);
+
+            // Distinct arguments of the latest run; retries of an invocation count once
+            String latestJvm = newestFirst.get(0).jvm;
+            Set<String> invocations = new HashSet<>();
+            for (Run run : newestFirst) {
+                if (run.jvm.equals(latestJvm)) {
+                    invocations.add(run.parameters);
+                }
+            }
+            this.invocationsPerRun = invocations.size();
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * Median duration of a single invocation
+         */
+        public long getMedianDurationMillis() {
+            return medianDurationMillis;
+        }
+
+        /**
+         * Invocations of the method in its latest run, more than one for a data-driven method
+         */
+        public int getInvocationsPerRun() {
+            return invocationsPerRun;
+        }
+
+        /**
+         * Expected duration of all of the method's invocations in one run
+         */
+        public long getExpectedRunMillis() {
+            return medianDurationMillis * invocationsPerRun;
+        }
+
+        /**
+         * Share of failed or broken results among the most recent invocations
+         */
+        public double getFailureRate(int recentRuns) {
+            int considered = Math.min(recentRuns, failuresNewestFirst.size());
+            if (considered == 0) {
+                return 0;
+            }
+            int failed = 0;
+            for (int i = 0; i < considered; i++) {
+                if (failuresNewestFirst.get(i)) {
+                    failed++;
+                }
+            }
+            return (double) failed / considered;
+        }
+    }
+
+    /**
+     * Loads the snapshot on first use, once per JVM
+     */
+    private static final class Snapshot {
+        static final TestHistory HISTORY = fromConfig();
+    }
+}
@@ -0,0 +1,63 @@
+package com.chirangv.server;
+
+import com.chirangv.utils.ConfigReader;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency, jitter and error injection for one stand-in route.
+ *
+ * Defaults come from standin.latencyMs, standin.jitterMs, standin.errorRate and
+ * standin.errorStatus; any of them can be overridden per path, e.g.
+ * standin.route./login.latencyMs=250 or standin.route./api/messages.errorRate=0.1
+ */
+public class FaultProfile {
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public FaultProfile(long latencyMillis, long jitterMillis, double errorRate, int errorStatus) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * Build the profile for a route path from config.properties
+     */
+    public static FaultProfile fromConfig(String path) {
+        return new FaultProfile(
+                Long.parseLong(lookup(path, "latencyMs", "0")),
+                Long.parseLong(lookup(path, "jitterMs", "0")),
+                Double.parseDouble(lookup(path, "errorRate", "0")),
+                Integer.parseInt(lookup(path, "errorStatus", "503")));
+    }
+
+    /**
+     * Delay to apply before answering a request
+     */
+    public long nextDelayMillis() {
+        if (jitterMillis <= 0) {
+            return latencyMillis;
+        }
+        return Math.max(0, latencyMillis + ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1));
+    }
+
+    /**
+     * Whether this request should fail with {@link #getErrorStatus()}
+     */
+    public boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    private static String lookup(String path, String key, String defaultValue) {
+        String fallback = ConfigReader.getProperty("standin." + key, defaultValue);
+        return ConfigReader.getProperty("standin.route." + path + "." + key, fallback);
+    }
+}
@@ -0,0 +1,175 @@
+package com.chirangv.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * In-memory accounts, sessions and contact messages behind the stand-in site
+ */
+public class StandInBackend {
+    private final Map<String, Account> accountsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Account> sessions = new ConcurrentHashMap<>();
+    private final List<Message> messages = new CopyOnWriteArrayList<>();
+    private volatile Function<String, Account> accountResolver = email -> null;
+
+    /**
+     * Register an account that can sign in with the given email and password
+     */
+    public void addAccount(String email, String password, String name, boolean admin) {
+        accountsByEmail.put(email.toLowerCase(Locale.ROOT), new Account(email, password, name, admin));
+    }
+
+    /**
+     * Look up accounts that were not added, by lower-case email, e.g. users derived from a
+     * seed; resolved accounts are not stored, so any number of them costs no memory
+     */
+    public void setAccountResolver(Function<String, Account> accountResolver) {
+        this.accountResolver = accountResolver;
+    }
+
+    /**
+     * Check credentials and open a session
+     *
+     * @return the session token, or null if the credentials are wrong
+     */
+    public String login(String email, String password) {
+        if (email == null || password == null) {
+            return null;
+        }
+        String key = email.toLowerCase(Locale.ROOT);
+        Account account = accountsByEmail.get(key);
+        if (account == null) {
+            account = accountResolver.apply(key);
+        }
+        if (account == null || !account.password.equals(password)) {
+            return null;
+        }
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, account);
+        return token;
+    }
+
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Get the account of a session token, or null if the session does not exist
+     */
+    public Account getAccount(String token) {
+        return token == null ? null : sessions.get(token);
+    }
+
+    public void addMessage(String name, String email, String phone, String text) {
+        messages.add(new Message(name, email, phone, text, System.currentTimeMillis()));
+    }
+
+    /**
+     * Messages containing the query in any field, newest first; a null or empty query returns all
+     */
+    public List<Message> findMessages(String query) {
+        String needle = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<Message> result = new ArrayList<>();
+        for (Message message : messages) {
+            if (needle.isEmpty() || message.matches(needle)) {
+                result.add(message);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Drop all sessions and messages; accounts are kept
+     */
+    public void reset() {
+        sessions.clear();
+        messages.clear();
+    }
+
+    /**
+     * A registered user
+     */
+    public static class Account {
+        private final String email;
+        private final String password;
+        private final String name;
+        private final boolean admin;
+
+        public Account(String email, String password, String name, boolean admin) {
+            this.email = email;
+            this.password = password;
+            this.name = name;
+            this.admin = admin;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isAdmin() {
+            return admin;
+        }
+    }
+
+    /**
+     * A message submitted through the contact form
+     */
+    public static class Message {
+        private final String name;
+        private final String email;
+        private final String phone;
+        private final String text;
+        private final long receivedAt;
+
+        Message(String name, String email, String phone, String text, long receivedAt) {
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+            this.text = text;
+            this.receivedAt = receivedAt;
+        }
+
+        private boolean matches(String needle) {
+            for (String field : new String[]{name, email, phone, text}) {
+                if (field != null && field.toLowerCase(Locale.ROOT).contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getReceivedAt() {
+            return receivedAt;
+        }
+    }
+}
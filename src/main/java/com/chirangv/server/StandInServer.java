@@ -0,0 +1,431 @@
+package com.chirangv.server;
+
+import com.chirangv.data.LoginCredential;
+import com.chirangv.data.TestDataRepository;
+import com.chirangv.data.TestUser;
+import com.chirangv.data.UserStream;
+import com.chirangv.data.UserStreams;
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the website: serves /, /login, /developer, /contact and /admin with the
+ * markup the page objects expect, backed by a {@link StandInBackend} held in memory.
+ *
+ * Every route except /health goes through a {@link FaultProfile}, so latency, jitter and
+ * error responses can be injected per path to exercise timeouts and measure throughput.
+ *
+ * Configuration (config.properties):
+ * - standin.port: port to bind on localhost (0 picks a free one)
+ * - standin.threads: request handler threads; injected latency holds a thread while it sleeps
+ * - standin.latencyMs / jitterMs / errorRate / errorStatus: faults for every route,
+ *   overridable per path with standin.route.&lt;path&gt;.&lt;key&gt;
+ */
+public class StandInServer {
+    private static final Logger logger = LoggerFactory.getLogger(StandInServer.class);
+    private static final Gson gson = new Gson();
+    private static final String SESSION_COOKIE = "sid";
+    private static final String HTML = "text/html; charset=utf-8";
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final StandInBackend backend;
+    private final int port;
+    private final int threads;
+    private final Map<String, FaultProfile> faults = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StandInServer(StandInBackend backend, int port, int threads) {
+        this.backend = backend;
+        this.port = port;
+        this.threads = threads;
+    }
+
+    /**
+     * Create a server configured from config.properties, with the accounts from test-data.json
+     * and the users of the scale data source: synthetic users are regenerated from scale.seed
+     * when they sign in, users from a file are copied in when standin.scaleAccounts=true
+     */
+    public static StandInServer fromConfig() {
+        StandInBackend backend = new StandInBackend();
+        seedAccounts(backend, TestDataRepository.getInstance());
+        if ("synthetic".equalsIgnoreCase(ConfigReader.getProperty("scale.source", "synthetic"))) {
+            long seed = Long.parseLong(ConfigReader.getProperty("scale.seed", "42"));
+            long users = Long.parseLong(ConfigReader.getProperty("scale.users", "1000"));
+            backend.setAccountResolver(email -> syntheticAccount(seed, users, email));
+        } else if (ConfigReader.getBooleanProperty("standin.scaleAccounts", false)) {
+            try (UserStream users = UserStreams.fromConfig()) {
+                while (users.hasNext()) {
+                    TestUser user = users.next();
+                    backend.addAccount(user.getEmail(), user.getPassword(), user.getName(), false);
+                }
+            }
+        }
+        return new StandInServer(backend,
+                ConfigReader.getIntProperty("standin.port", 0),
+                ConfigReader.getIntProperty("standin.threads", 16));
+    }
+
+    /**
+     * The account of a synthetic scale user, or null if the email is not one of the first users
+     */
+    private static StandInBackend.Account syntheticAccount(long seed, long users, String email) {
+        long index = UserStreams.syntheticIndexOf(email);
+        if (index < 0 || index >= users) {
+            return null;
+        }
+        TestUser user = UserStreams.syntheticUser(seed, index);
+        return new StandInBackend.Account(user.getEmail(), user.getPassword(), user.getName(), false);
+    }
+
+    /**
+     * Bind and start serving
+     */
+    public synchronized StandInServer start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start stand-in site on port " + port, e);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "standin-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+        logger.info("Stand-in site listening on " + getBaseUrl());
+        return this;
+    }
+
+    /**
+     * Stop serving and release the port
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("Stand-in site stopped");
+    }
+
+    /**
+     * Base URL to use in place of baseUrl, without a trailing slash
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Stand-in site is not running");
+        }
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public StandInBackend getBackend() {
+        return backend;
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (!"/health".equals(path) && injectFault(exchange, path)) {
+                return;
+            }
+            route(exchange, path, exchange.getRequestMethod());
+        } catch (RuntimeException e) {
+            logger.error("Stand-in site failed on " + exchange.getRequestURI(), e);
+            send(exchange, 500, "text/plain; charset=utf-8", "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean injectFault(HttpExchange exchange, String path) throws IOException {
+        FaultProfile profile = faults.computeIfAbsent(path, FaultProfile::fromConfig);
+        long delay = profile.nextDelayMillis();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        if (profile.shouldFail()) {
+            send(exchange, profile.getErrorStatus(), "text/plain; charset=utf-8", "Injected failure");
+            return true;
+        }
+        return false;
+    }
+
+    private void route(HttpExchange exchange, String path, String method) throws IOException {
+        boolean get = "GET".equals(method);
+        boolean post = "POST".equals(method);
+
+        if (get && "/health".equals(path)) {
+            send(exchange, 200, "text/plain; charset=utf-8", "ok");
+        } else if (get && "/".equals(path)) {
+            send(exchange, 200, HTML, template("home"));
+        } else if (get && "/login".equals(path)) {
+            send(exchange, 200, HTML, template("login"));
+        } else if (get && "/developer".equals(path)) {
+            send(exchange, 200, HTML, template("developer"));
+        } else if (get && "/contact".equals(path)) {
+            if (requireAccount(exchange, false) != null) {
+                send(exchange, 200, HTML, template("contact"));
+            }
+        } else if (get && "/admin".equals(path)) {
+            StandInBackend.Account admin = requireAccount(exchange, true);
+            if (admin != null) {
+                send(exchange, 200, HTML, template("admin")
+                        .replace("{{user}}", escape(admin.getName()))
+                        .replace("{{messages}}", renderMessages(queryParam(exchange, "q"))));
+            }
+        } else if (get && ("/projects".equals(path) || "/docs".equals(path)
+                || "/tutorials".equals(path) || "/signup".equals(path))) {
+            send(exchange, 200, HTML, template("resource").replace("{{title}}", resourceTitle(path)));
+        } else if (get && "/assets/site.css".equals(path)) {
+            sendAsset(exchange, "site.css", "text/css; charset=utf-8");
+        } else if (post && "/api/login".equals(path)) {
+            handleLogin(exchange);
+        } else if (post && "/api/logout".equals(path)) {
+            backend.logout(sessionToken(exchange));
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+            sendJson(exchange, 200, new JsonObject());
+        } else if (post && "/api/messages".equals(path)) {
+            handleNewMessage(exchange);
+        } else if (get && "/api/messages".equals(path)) {
+            handleListMessages(exchange);
+        } else {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not found: " + path);
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        JsonObject body = readJson(exchange);
+        String token = backend.login(field(body, "email"), field(body, "password"));
+        if (token == null) {
+            sendJson(exchange, 401, error("Invalid email or password"));
+            return;
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + token + "; Path=/; HttpOnly");
+        JsonObject response = new JsonObject();
+        response.addProperty("redirect", "/");
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleNewMessage(HttpExchange exchange) throws IOException {
+        if (backend.getAccount(sessionToken(exchange)) == null) {
+            sendJson(exchange, 401, error("Sign in to send a message"));
+            return;
+        }
+        JsonObject body = readJson(exchange);
+        String text = field(body, "message");
+        if (text == null || text.trim().isEmpty()) {
+            sendJson(exchange, 400, error("Message is required"));
+            return;
+        }
+        backend.addMessage(field(body, "name"), field(body, "email"), field(body, "phone"), text);
+        sendJson(exchange, 201, new JsonObject());
+    }
+
+    private void handleListMessages(HttpExchange exchange) throws IOException {
+        StandInBackend.Account account = backend.getAccount(sessionToken(exchange));
+        if (account == null || !account.isAdmin()) {
+            sendJson(exchange, 403, error("Admin access required"));
+            return;
+        }
+        JsonArray result = new JsonArray();
+        for (StandInBackend.Message message : backend.findMessages(queryParam(exchange, "q"))) {
+            JsonObject item = new JsonObject();
+            item.addProperty("name", message.getName());
+            item.addProperty("email", message.getEmail());
+            item.addProperty("phone", message.getPhone());
+            item.addProperty("message", message.getText());
+            item.addProperty("receivedAt", message.getReceivedAt());
+            result.add(item);
+        }
+        sendJson(exchange, 200, result);
+    }
+
+    /**
+     * Send the browser to the login page unless the request carries a suitable session
+     */
+    private StandInBackend.Account requireAccount(HttpExchange exchange, boolean admin) throws IOException {
+        StandInBackend.Account account = backend.getAccount(sessionToken(exchange));
+        if (account == null) {
+            exchange.getResponseHeaders().add("Location", "/login?next=" + exchange.getRequestURI().getPath());
+            send(exchange, 302, "text/plain; charset=utf-8", "");
+            return null;
+        }
+        if (admin && !account.isAdmin()) {
+            send(exchange, 403, "text/plain; charset=utf-8", "Admin access required");
+            return null;
+        }
+        return account;
+    }
+
+    private String renderMessages(String query) {
+        StringBuilder rows = new StringBuilder();
+        for (StandInBackend.Message message : backend.findMessages(query)) {
+            rows.append("            <li class=\"message-item\" data-testid=\"message-item\">")
+                    .append("<strong>").append(escape(message.getName())).append("</strong> ")
+                    .append("<span>").append(escape(message.getEmail())).append("</span>")
+                    .append("<p>").append(escape(message.getText())).append("</p></li>\n");
+        }
+        return rows.toString();
+    }
+
+    private void sendAsset(HttpExchange exchange, String name, String contentType) throws IOException {
+        String body = resource(name);
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, contentType, body);
+    }
+
+    private String template(String name) {
+        return resource(name + ".html");
+    }
+
+    private String resource(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream input = StandInServer.class.getClassLoader().getResourceAsStream("standin/" + key)) {
+                if (input == null) {
+                    throw new IllegalStateException("Missing stand-in resource: standin/" + key);
+                }
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void seedAccounts(StandInBackend backend, TestDataRepository testData) {
+        for (TestUser user : testData.getUsers()) {
+            backend.addAccount(user.getEmail(), user.getPassword(), user.getName(),
+                    "adminUser".equals(user.getUserType()));
+        }
+        for (LoginCredential credential : testData.getCredentials()) {
+            if ("success".equals(credential.getExpectedResult())) {
+                backend.addAccount(credential.getEmail(), credential.getPassword(), "Test User", false);
+            }
+        }
+    }
+
+    private static String resourceTitle(String path) {
+        switch (path) {
+            case "/projects":
+                return "My Projects";
+            case "/docs":
+                return "Documentation";
+            case "/tutorials":
+                return "Tutorials";
+            default:
+                return "Create an account";
+        }
+    }
+
+    private static String sessionToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Cookie");
+        if (header == null) {
+            return null;
+        }
+        for (String cookie : header.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && SESSION_COOKIE.equals(pair[0])) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts[0].equals(name)) {
+                return parts.length == 2 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    private static JsonObject readJson(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            JsonObject json = gson.fromJson(body, JsonObject.class);
+            return json == null ? new JsonObject() : json;
+        } catch (JsonParseException e) {
+            return new JsonObject();
+        }
+    }
+
+    private static String field(JsonObject json, String name) {
+        JsonElement value = json.get(name);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("error", message);
+        return json;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonElement body) throws IOException {
+        send(exchange, status, JSON, gson.toJson(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
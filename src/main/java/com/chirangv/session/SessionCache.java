@@ -0,0 +1,225 @@
+package com.chirangv.session;
+
+import com.chirangv.data.TestDataRepository;
+import com.chirangv.data.TestUser;
+import com.chirangv.network.HarArchive;
+import com.chirangv.network.NetworkRouter;
+import com.chirangv.network.RunMode;
+import com.chirangv.pages.LoginPage;
+import com.chirangv.utils.ConfigReader;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of authenticated Playwright storage states, one per test user and site.
+ *
+ * Each user from test-data.json is logged in through the UI at most once per TTL; the
+ * resulting storage state (cookies + local storage) is written to disk together with its
+ * expiry so later tests, and later runs, can start from a pre-authenticated context.
+ * Sessions are kept per origin of baseUrl, so a login made against one site (e.g. the
+ * local stand-in) is never offered to another.
+ *
+ * Configuration (config.properties):
+ * - session.cacheDir: where storage states are kept (default target/sessions)
+ * - session.ttlMinutes: how long a cached login is trusted (default 30)
+ * - session.probePath: page used to check a session is still accepted (default /contact)
+ */
+public class SessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+    private static final String LOGIN_ERROR = "text=/error|invalid|incorrect|failed/i";
+
+    private static final SessionCache instance = new SessionCache(
+            Paths.get(ConfigReader.getProperty("session.cacheDir", "target/sessions")),
+            TimeUnit.MINUTES.toMillis(ConfigReader.getIntProperty("session.ttlMinutes", 30)));
+
+    private final Path cacheDir;
+    private final long ttlMillis;
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final Map<String, Object> userLocks = new ConcurrentHashMap<>();
+
+    public SessionCache(Path cacheDir, long ttlMillis) {
+        this.cacheDir = cacheDir;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static SessionCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the storage state file for a user, logging in with the given browser if there is
+     * no unexpired session cached yet
+     */
+    public Path getStorageState(Browser browser, String username) {
+        String key = cacheKey(username);
+        synchronized (userLocks.computeIfAbsent(key, ignored -> new Object())) {
+            Path statePath = statePath(key);
+            if (isValid(key)) {
+                logger.info("Using cached session for user: " + username);
+                return statePath;
+            }
+            login(browser, username, key);
+            return statePath;
+        }
+    }
+
+    /**
+     * Drop a cached session, e.g. after the site rejected it
+     */
+    public void invalidate(String username) {
+        String key = cacheKey(username);
+        synchronized (userLocks.computeIfAbsent(key, ignored -> new Object())) {
+            expiries.remove(key);
+            try {
+                Files.deleteIfExists(statePath(key));
+                Files.deleteIfExists(metaPath(key));
+            } catch (IOException e) {
+                logger.warn("Failed to delete cached session for " + username + ": " + e.getMessage());
+            }
+            logger.info("Invalidated cached session for user: " + username);
+        }
+    }
+
+    /**
+     * Check whether the site bounced the page back to the login screen
+     */
+    public boolean isRejected(Page page, String baseUrl) {
+        page.navigate(baseUrl + ConfigReader.getProperty("session.probePath", "/contact"));
+        page.waitForLoadState();
+        return page.url().contains("/login");
+    }
+
+    private boolean isValid(String key) {
+        Long expiresAt = expiries.get(key);
+        if (expiresAt == null) {
+            expiresAt = readExpiry(key);
+            if (expiresAt != null) {
+                expiries.put(key, expiresAt);
+            }
+        }
+        return expiresAt != null && expiresAt > System.currentTimeMillis() && Files.exists(statePath(key));
+    }
+
+    private void login(Browser browser, String username, String key) {
+        TestUser user = TestDataRepository.getInstance().getUser(username);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found with username: " + username);
+        }
+
+        logger.info("Logging in to create cached session for user: " + username);
+        BrowserContext context = newLoginContext(browser, username);
+        try {
+            Page page = context.newPage();
+            page.setDefaultTimeout(ConfigReader.getTimeout());
+
+            LoginPage loginPage = new LoginPage(page);
+            loginPage.navigateToLogin(ConfigReader.getBaseUrl());
+            loginPage.login(user.getEmail(), user.getPassword());
+
+            try {
+                page.waitForURL(url -> !url.contains("/login"));
+            } catch (PlaywrightException e) {
+                String error = page.locator(LOGIN_ERROR).count() > 0
+                        ? page.locator(LOGIN_ERROR).first().textContent()
+                        : "still on login page after login attempt";
+                throw new IllegalStateException("Login failed for user: " + username + ". Error: " + error, e);
+            }
+
+            Path statePath = statePath(key);
+            Files.createDirectories(statePath.getParent());
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(statePath));
+            long expiresAt = System.currentTimeMillis() + ttlMillis;
+            writeExpiry(key, username, expiresAt);
+            expiries.put(key, expiresAt);
+            logger.info("Cached session for user: " + username);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write session cache for " + username, e);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Context for a login that gets its traffic the way the tests of this run do: through
+     * the network router when live, from or into the user's HAR archive when replaying or
+     * recording, e.g. SessionCache/johndoe.har
+     */
+    private static BrowserContext newLoginContext(Browser browser, String username) {
+        BrowserContext context = browser.newContext();
+        RunMode mode = RunMode.fromConfig();
+        if (mode == RunMode.LIVE) {
+            if (ConfigReader.getBooleanProperty("network.routing", true)) {
+                NetworkRouter.install(context);
+            }
+        } else {
+            HarArchive.apply(context, mode, "SessionCache/" + username);
+        }
+        return context;
+    }
+
+    private Long readExpiry(String key) {
+        Path metaPath = metaPath(key);
+        if (!Files.exists(metaPath)) {
+            return null;
+        }
+        try {
+            String json = new String(Files.readAllBytes(metaPath), StandardCharsets.UTF_8);
+            return JsonParser.parseString(json).getAsJsonObject().get("expiresAt").getAsLong();
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable session metadata for " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeExpiry(String key, String username, long expiresAt) throws IOException {
+        JsonObject meta = new JsonObject();
+        meta.addProperty("username", username);
+        meta.addProperty("origin", originOf(ConfigReader.getBaseUrl()));
+        meta.addProperty("expiresAt", expiresAt);
+        Files.write(metaPath(key), meta.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cache key of a user on the current site: origin directory and username, e.g.
+     * "https_dev.chirangv.com/johndoe"
+     */
+    private static String cacheKey(String username) {
+        return originOf(ConfigReader.getBaseUrl()).replaceAll("[^A-Za-z0-9.-]+", "_") + "/" + username;
+    }
+
+    /**
+     * Scheme, host and port of a URL, e.g. "http://localhost:8080"
+     */
+    private static String originOf(String url) {
+        URI uri = URI.create(url.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("baseUrl is not an absolute URL: " + url);
+        }
+        return uri.getScheme().toLowerCase() + "://" + uri.getHost().toLowerCase()
+                + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    private Path statePath(String key) {
+        return cacheDir.resolve(key + ".json");
+    }
+
+    private Path metaPath(String key) {
+        return cacheDir.resolve(key + ".meta.json");
+    }
+}
@@ -1,14 +1,15 @@
 package com.chirangv.utils;
 
-import com.google.gson.Gson;
+import com.chirangv.data.TestDataRepository;
 import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for reading configuration and test data
@@ -16,11 +17,10 @@ import java.util.Properties;
 public class ConfigReader {
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
     private static Properties properties;
-    private static JsonObject testData;
+    private static final Map<String, String> overrides = new ConcurrentHashMap<>();
 
     static {
         loadProperties();
-        loadTestData();
     }
 
     /**
@@ -42,30 +42,56 @@ public class ConfigReader {
     }
 
     /**
-     * Load test data from JSON file
+     * Get property value by key; a runtime override wins, then a JVM system property with
+     * the same key (-Dkey=value), then config.properties
      */
-    private static void loadTestData() {
-        try (FileReader reader = new FileReader("src/test/resources/testdata/test-data.json")) {
-            Gson gson = new Gson();
-            testData = gson.fromJson(reader, JsonObject.class);
-            logger.info("Test data loaded successfully");
-        } catch (IOException e) {
-            logger.error("Error loading test data: ", e);
+    public static String getProperty(String key) {
+        String override = overrides.get(key);
+        if (override == null) {
+            override = System.getProperty(key);
         }
+        return override != null ? override : properties.getProperty(key);
     }
 
     /**
-     * Get property value by key
+     * Override a property for the rest of the run, e.g. to point baseUrl at a local server;
+     * a null value removes the override
      */
-    public static String getProperty(String key) {
-        return properties.getProperty(key);
+    public static void overrideProperty(String key, String value) {
+        if (value == null) {
+            overrides.remove(key);
+        } else {
+            overrides.put(key, value);
+        }
+    }
+
+    /**
+     * Get property value by key, falling back to a default when it is not set
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get integer property value, falling back to a default when it is not set
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        return Integer.parseInt(getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Get boolean property value, falling back to a default when it is not set
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getProperty(key, String.valueOf(defaultValue)));
     }
 
     /**
-     * Get test data JSON object
+     * Get test data JSON object; prefer the typed lookups of {@link TestDataRepository}
      */
     public static JsonObject getTestData() {
-        return testData;
+        return TestDataRepository.getInstance().getRawData();
     }
 
     /**
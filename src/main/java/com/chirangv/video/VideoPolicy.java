@@ -0,0 +1,62 @@
+package com.chirangv.video;
+
+import com.chirangv.utils.ConfigReader;
+
+/**
+ * When to record test videos and which recordings to keep.
+ *
+ * Configured with video.mode=off|on-first-retry|retain-on-failure. When video.mode is not
+ * set, the legacy videoOnFailure=true maps to retain-on-failure.
+ */
+public enum VideoPolicy {
+    /** Never record */
+    OFF,
+    /** Record only the first retry of a failed test, and keep it */
+    ON_FIRST_RETRY,
+    /** Record every test, keep only the videos of failed tests */
+    RETAIN_ON_FAILURE;
+
+    /**
+     * Read the policy from config.properties
+     */
+    public static VideoPolicy fromConfig() {
+        String mode = ConfigReader.getProperty("video.mode", null);
+        if (mode == null) {
+            return ConfigReader.getBooleanProperty("videoOnFailure", false) ? RETAIN_ON_FAILURE : OFF;
+        }
+        switch (mode.toLowerCase()) {
+            case "off":
+                return OFF;
+            case "on-first-retry":
+                return ON_FIRST_RETRY;
+            case "retain-on-failure":
+                return RETAIN_ON_FAILURE;
+            default:
+                throw new IllegalArgumentException("Unknown video.mode: " + mode
+                        + " (expected off, on-first-retry or retain-on-failure)");
+        }
+    }
+
+    /**
+     * Should a context for this attempt record video
+     *
+     * @param retryAttempt 0 for the first run of a test, 1 for its first retry, and so on
+     */
+    public boolean shouldRecord(int retryAttempt) {
+        switch (this) {
+            case ON_FIRST_RETRY:
+                return retryAttempt == 1;
+            case RETAIN_ON_FAILURE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Should a recorded video be kept once the test has finished
+     */
+    public boolean shouldRetain(boolean failed) {
+        return this == ON_FIRST_RETRY || this == RETAIN_ON_FAILURE && failed;
+    }
+}
@@ -0,0 +1,124 @@
+package com.chirangv.video;
+
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Owns the video directory: deletes discarded recordings off the test thread and keeps
+ * the retained ones under a total disk budget, removing the oldest first.
+ *
+ * Configuration (config.properties):
+ * - video.dir: where contexts record to (default target/videos)
+ * - video.maxTotalMb: disk budget for retained videos (default 500)
+ */
+public class VideoStore {
+    private static final Logger logger = LoggerFactory.getLogger(VideoStore.class);
+
+    private static final VideoStore instance = new VideoStore(
+            Paths.get(ConfigReader.getProperty("video.dir", "target/videos")),
+            ConfigReader.getIntProperty("video.maxTotalMb", 500) * 1024L * 1024L);
+
+    private final Path directory;
+    private final long maxTotalBytes;
+    private final ExecutorService cleaner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "video-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VideoStore(Path directory, long maxTotalBytes) {
+        this.directory = directory;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public static VideoStore getInstance() {
+        return instance;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Delete recordings of a test whose videos are not needed
+     */
+    public void discard(List<Path> videos) {
+        List<Path> toDelete = new ArrayList<>(videos);
+        cleaner.submit(() -> {
+            for (Path video : toDelete) {
+                try {
+                    Files.deleteIfExists(video);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete video " + video + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Note that recordings were kept and trim the directory back under budget
+     */
+    public void retained(List<Path> videos) {
+        logger.info("Retained videos: " + videos);
+        cleaner.submit(this::enforceBudget);
+    }
+
+    /**
+     * Wait for pending deletions to finish
+     */
+    public void flush() {
+        try {
+            cleaner.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("Video cleanup did not finish: " + e.getMessage());
+        }
+    }
+
+    private void enforceBudget() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> videos = files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(VideoStore::lastModified))
+                    .collect(Collectors.toList());
+            long total = 0;
+            for (Path video : videos) {
+                total += Files.size(video);
+            }
+            for (Path oldest : videos) {
+                if (total <= maxTotalBytes) {
+                    break;
+                }
+                long size = Files.size(oldest);
+                Files.deleteIfExists(oldest);
+                total -= size;
+                logger.info("Deleted " + oldest + " to stay within the video budget");
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to enforce video budget: " + e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
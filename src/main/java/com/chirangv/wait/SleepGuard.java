@@ -0,0 +1,67 @@
+package com.chirangv.wait;
+
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a {@link Page} so that fixed {@code waitForTimeout} sleeps fail fast.
+ * Page objects should use the condition-based waits in BasePage instead.
+ */
+public class SleepGuard implements InvocationHandler {
+    private final Page target;
+
+    private SleepGuard(Page target) {
+        this.target = target;
+    }
+
+    /**
+     * Guard a page against fixed sleeps; already guarded pages are returned as-is
+     */
+    public static Page guard(Page page) {
+        if (page == null || isGuarded(page)) {
+            return page;
+        }
+        return (Page) Proxy.newProxyInstance(Page.class.getClassLoader(), new Class<?>[] {Page.class},
+                new SleepGuard(page));
+    }
+
+    public static boolean isGuarded(Page page) {
+        return page != null && Proxy.isProxyClass(page.getClass())
+                && Proxy.getInvocationHandler(page) instanceof SleepGuard;
+    }
+
+    /**
+     * Get the page behind a guard, or the page itself if it is not guarded
+     */
+    public static Page unwrap(Page page) {
+        if (isGuarded(page)) {
+            return ((SleepGuard) Proxy.getInvocationHandler(page)).target;
+        }
+        return page;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "waitForTimeout":
+                throw new UnsupportedOperationException("Fixed sleeps are forbidden in page objects "
+                        + "(wait.forbidFixedSleeps=true); use a condition-based wait from BasePage");
+            case "equals":
+                return args[0] instanceof Page && unwrap((Page) args[0]) == target;
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "toString":
+                return "SleepGuard(" + target + ")";
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.chirangv.wait;
+
+/**
+ * Outcome of a condition-based wait: whether the condition held before the deadline
+ * and how long the wait actually took
+ */
+public class WaitResult {
+    private final String description;
+    private final boolean satisfied;
+    private final long elapsedMillis;
+
+    public WaitResult(String description, boolean satisfied, long elapsedMillis) {
+        this.description = description;
+        this.satisfied = satisfied;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Wait for " + description + (satisfied ? " satisfied in " : " timed out after ")
+                + elapsedMillis + " ms";
+    }
+}
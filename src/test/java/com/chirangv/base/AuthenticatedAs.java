@@ -0,0 +1,16 @@
+package com.chirangv.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Start the test with a context that is already logged in as the given test user
+ * (username from test-data.json), using the cached session when one is available
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AuthenticatedAs {
+    String value();
+}
@@ -1,116 +1,483 @@
 package com.chirangv.base;
 
+import com.chirangv.artifacts.ArtifactWriter;
+import com.chirangv.browser.BrowserLease;
+import com.chirangv.browser.BrowserMatrix;
+import com.chirangv.browser.BrowserPool;
+import com.chirangv.browser.BrowserPoolMetrics;
+import com.chirangv.listeners.RetryAnalyzer;
+import com.chirangv.logging.TestLog;
+import com.chirangv.metrics.CallStats;
+import com.chirangv.network.HarArchive;
+import com.chirangv.network.NetworkRouter;
+import com.chirangv.network.NetworkStats;
+import com.chirangv.network.RunMode;
+import com.chirangv.pages.LocatorRegistry;
+import com.chirangv.pages.SelectorProfiler;
+import com.chirangv.session.SessionCache;
 import com.chirangv.utils.ConfigReader;
+import com.chirangv.video.VideoPolicy;
+import com.chirangv.video.VideoStore;
 import com.microsoft.playwright.*;
-import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
+import org.testng.xml.XmlTest;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Base test class that sets up and tears down Playwright browser instances
  * Includes Allure reporting integration
+ *
+ * Browsers come from a suite-wide {@link BrowserPool}: each test method leases a warm
+ * browser for its duration and gets its own context and page, pre-warmed by the pool between
+ * tests when the test needs nothing special from it. In a {@link BrowserMatrix} run the
+ * browser and viewport come from the test's matrix cell and every browser type has its own
+ * pool. Playwright objects are not
+ * thread-safe, so subclasses must go through {@link #getPage()} / {@link #getContext()}
+ * instead of keeping Playwright objects in instance fields.
  */
 public class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
-    protected static Playwright playwright;
-    protected static Browser browser;
-    protected BrowserContext context;
-    protected Page page;
+    private static final ThreadLocal<BrowserLease> lease = new ThreadLocal<>();
+    private static final ThreadLocal<String> browserType = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> viewport = new ThreadLocal<>();
+    private static final ThreadLocal<BrowserContext> context = new ThreadLocal<>();
+    private static final ThreadLocal<Page> page = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> recordVideo = new ThreadLocal<>();
+    private static final ThreadLocal<List<Path>> testVideos = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<List<CompletableFuture<Void>>> testVideosClosed = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<NetworkStats> testNetworkStats = ThreadLocal.withInitial(NetworkStats::new);
 
-    @BeforeClass
-    public void setUpClass() {
-        logger.info("Setting up Playwright and Browser");
-        playwright = Playwright.create();
+    private static final ThreadLocal<String> harFlow = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> contextsOpened = ThreadLocal.withInitial(() -> 0);
 
-        // Auto-detect CI environment and force headless mode
-        boolean isCI = System.getenv("CI") != null || System.getenv("GITHUB_ACTIONS") != null;
-        boolean headless = isCI || ConfigReader.isHeadless();
+    private static final VideoPolicy videoPolicy = VideoPolicy.fromConfig();
+    private static final RunMode runMode = RunMode.fromConfig();
 
-        if (isCI) {
-            logger.info("CI environment detected - running in headless mode");
+    private static final AtomicLong artifactSequence = new AtomicLong();
+
+    @BeforeSuite(alwaysRun = true)
+    public void setUpSuite() {
+        // Recorded archives are applied per test, so only live runs can use pre-warmed contexts
+        if (runMode == RunMode.LIVE) {
+            for (String browser : BrowserMatrix.getBrowsers()) {
+                BrowserPool.getInstance(browser).setContextFactory(warm -> newLiveContext(warm, warmContextOptions()));
+            }
         }
+    }
+
+    @BeforeMethod
+    public void setUp(Method method, ITestResult result) {
+        XmlTest xmlTest = result.getTestContext().getCurrentXmlTest();
+        String cellBrowser = xmlTest.getParameter(BrowserMatrix.BROWSER_PARAMETER);
+        String cellViewport = xmlTest.getParameter(BrowserMatrix.VIEWPORT_PARAMETER);
+        String cell = cellBrowser == null ? null : cellBrowser + (cellViewport == null ? "" : " " + cellViewport);
+        TestLog.start(getClass().getSimpleName() + "." + method.getName() + (cell == null ? "" : " [" + cell + "]"));
+        logger.info("Setting up browser context and page");
+
+        browserType.set(cellBrowser != null ? cellBrowser : ConfigReader.getBrowser());
+        viewport.set(cellViewport != null ? BrowserMatrix.parseViewport(cellViewport) : null);
 
-        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                .setHeadless(headless)
-                .setSlowMo(Integer.parseInt(ConfigReader.getProperty("slowMo")));
+        recordVideo.set(videoPolicy.shouldRecord(RetryAnalyzer.getRetryAttempt(result)));
+        harFlow.set(harFlowName(cell, method, result.getParameters()));
+        contextsOpened.set(0);
+        lease.set(BrowserPool.getInstance(browserType.get()).acquire());
+        CallStats.startTest();
+
+        AuthenticatedAs authenticatedAs = method.getAnnotation(AuthenticatedAs.class);
+        if (authenticatedAs != null) {
+            useAuthenticatedSession(authenticatedAs.value());
+            return;
+        }
+        // Warm contexts record video exactly when first attempts do
+        boolean warmFits = recordVideo.get() == videoPolicy.shouldRecord(0);
+        BrowserContext warmContext = warmFits ? lease.get().takeWarmContext() : null;
+        if (warmContext != null) {
+            useContext(warmContext);
+            // Contexts are pre-warmed with the configured viewport
+            if (viewport.get() != null) {
+                getPage().setViewportSize(viewport.get()[0], viewport.get()[1]);
+            }
+        } else {
+            openContext(null);
+        }
+    }
 
-        String browserType = ConfigReader.getBrowser();
-        switch (browserType.toLowerCase()) {
-            case "firefox":
-                browser = playwright.firefox().launch(launchOptions);
-                break;
-            case "webkit":
-                browser = playwright.webkit().launch(launchOptions);
-                break;
-            default:
-                browser = playwright.chromium().launch(launchOptions);
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        // Attach screenshot to Allure report on failure
+        if (result.getStatus() == ITestResult.FAILURE && page.get() != null) {
+            attachScreenshotToAllure(result.getName());
         }
 
-        logger.info("Browser launched: " + browserType + " (headless: " + headless + ")");
+        logger.info("Closing page and context");
+        closeContext(true);
+        // Hand the browser back before reporting so the pool can turn it around meanwhile
+        if (lease.get() != null) {
+            lease.get().close();
+            lease.remove();
+        }
+        handleVideos(result.getStatus() == ITestResult.FAILURE);
+        reportNetworkStats();
+        reportCallStats();
+        reportTestLog(result);
+        browserType.remove();
+        viewport.remove();
     }
 
-    @BeforeMethod
-    public void setUp() {
-        logger.info("Setting up browser context and page");
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        logger.info("Closing browser pools");
+        writeBrowserPoolMetrics();
+        writeCallStats(CallStats.getSuiteStats());
+        writeSelectorProfile();
+        writeLocatorRegistryMetrics();
+        BrowserPool.shutdownInstances();
+        ArtifactWriter.getInstance().flush();
+        VideoStore.getInstance().flush();
+    }
+
+    /**
+     * Get the page owned by the current test thread
+     */
+    protected Page getPage() {
+        return page.get();
+    }
+
+    /**
+     * Get the browser context owned by the current test thread
+     */
+    protected BrowserContext getContext() {
+        return context.get();
+    }
+
+    /**
+     * Get the browser type of the current test, e.g. "firefox" in the firefox cells of a matrix run
+     */
+    protected String getBrowserType() {
+        return browserType.get();
+    }
+
+    /**
+     * Get the browser leased to the current test
+     */
+    protected Browser getBrowser() {
+        return lease.get().getBrowser();
+    }
+
+    /**
+     * Replace the current context with one logged in as the given test user.
+     * The cached session is reused when possible; if the site rejects it, the user is
+     * logged in again once before giving up.
+     */
+    protected void useAuthenticatedSession(String username) {
+        SessionCache sessions = SessionCache.getInstance();
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            Path storageState = sessions.getStorageState(getBrowser(), username);
+            closeContext(false);
+            openContext(storageState);
+
+            if (!sessions.isRejected(getPage(), ConfigReader.getBaseUrl())) {
+                logger.info("Context authenticated as user: " + username);
+                return;
+            }
+            logger.warn("Cached session rejected for user: " + username + " (attempt " + attempt + ")");
+            sessions.invalidate(username);
+        }
+        throw new IllegalStateException("Session for user " + username + " rejected even after a fresh login");
+    }
+
+    /**
+     * Create the context and page for the current test, optionally from a storage state
+     */
+    private void openContext(Path storageState) {
+        Browser.NewContextOptions contextOptions = contextOptions(viewport.get());
+
+        // Record video only when the video policy wants it for this attempt
+        if (Boolean.TRUE.equals(recordVideo.get())) {
+            contextOptions.setRecordVideoDir(VideoStore.getInstance().getDirectory());
+        }
+
+        if (storageState != null) {
+            contextOptions.setStorageStatePath(storageState);
+        }
 
-        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
+        BrowserContext newContext;
+        if (runMode == RunMode.LIVE) {
+            newContext = newLiveContext(getBrowser(), contextOptions);
+        } else {
+            newContext = getBrowser().newContext(contextOptions);
+            // Recorded archives are the whole network layer; a test's later contexts get their own archive
+            int index = contextsOpened.get() + 1;
+            contextsOpened.set(index);
+            HarArchive.apply(newContext, runMode, index == 1 ? harFlow.get() : harFlow.get() + "-" + index);
+            openPage(newContext);
+        }
+        useContext(newContext);
+    }
+
+    /**
+     * Options every test context starts from
+     *
+     * @param size viewport width and height, or null for the configured viewport
+     */
+    private static Browser.NewContextOptions contextOptions(int[] size) {
+        if (size != null) {
+            return new Browser.NewContextOptions().setViewportSize(size[0], size[1]);
+        }
+        return new Browser.NewContextOptions()
                 .setViewportSize(
                         Integer.parseInt(ConfigReader.getProperty("viewport.width")),
                         Integer.parseInt(ConfigReader.getProperty("viewport.height")));
+    }
 
-        // Enable video recording on failure
-        if (Boolean.parseBoolean(ConfigReader.getProperty("videoOnFailure"))) {
-            contextOptions.setRecordVideoDir(Paths.get("target/videos/"));
+    /**
+     * Options of pre-warmed contexts: the configured viewport, recording video when the video
+     * policy records first attempts
+     */
+    private static Browser.NewContextOptions warmContextOptions() {
+        Browser.NewContextOptions options = contextOptions(null);
+        if (videoPolicy.shouldRecord(0)) {
+            options.setRecordVideoDir(VideoStore.getInstance().getDirectory());
         }
+        return options;
+    }
+
+    /**
+     * Create a context for a live run, with network routing and its page open
+     */
+    private static BrowserContext newLiveContext(Browser browser, Browser.NewContextOptions contextOptions) {
+        BrowserContext newContext = browser.newContext(contextOptions);
+        if (ConfigReader.getBooleanProperty("network.routing", true)) {
+            NetworkRouter.install(newContext);
+        }
+        openPage(newContext);
+        return newContext;
+    }
 
-        context = browser.newContext(contextOptions);
-        page = context.newPage();
+    private static void openPage(BrowserContext newContext) {
+        Page newPage = newContext.newPage();
 
         // Set default timeout
-        page.setDefaultTimeout(ConfigReader.getTimeout());
+        newPage.setDefaultTimeout(ConfigReader.getTimeout());
     }
 
-    @AfterMethod
-    public void tearDown(ITestResult result) {
-        // Attach screenshot to Allure report on failure
-        if (result.getStatus() == ITestResult.FAILURE) {
-            attachScreenshotToAllure(result.getName());
+    /**
+     * Make a context with its page open the current test's
+     */
+    private void useContext(BrowserContext newContext) {
+        context.set(newContext);
+        page.set(newContext.pages().get(0));
+    }
+
+    /**
+     * Close the current test's page and context
+     *
+     * @param deferToPool leave the context for the pool to close in the background once the
+     *                    browser is handed back, unless an archive is still being recorded
+     */
+    private void closeContext(boolean deferToPool) {
+        Video video = page.get() != null ? page.get().video() : null;
+        boolean closeNow = !deferToPool || lease.get() == null || runMode != RunMode.LIVE;
+        CompletableFuture<Void> closed = CompletableFuture.completedFuture(null);
+        if (page.get() != null) {
+            if (closeNow) {
+                page.get().close();
+            }
+            page.remove();
+        }
+        if (context.get() != null) {
+            NetworkRouter router = NetworkRouter.remove(context.get());
+            if (router != null) {
+                testNetworkStats.get().merge(router.getStats());
+            }
+            if (closeNow) {
+                context.get().close();
+            } else {
+                closed = lease.get().closeInBackground(context.get());
+            }
+            context.remove();
         }
+        // The recording is only complete once its context has been closed
+        if (video != null) {
+            testVideos.get().add(video.path());
+            testVideosClosed.get().add(closed);
+        }
+    }
 
-        logger.info("Closing page and context");
-        if (page != null) {
-            page.close();
+    /**
+     * HAR archive name for a test invocation: TestClass/method, plus data-provider arguments;
+     * matrix cells record into a directory of their own, e.g. firefox-390x844/TestClass/method
+     */
+    private String harFlowName(String cell, Method method, Object[] parameters) {
+        StringBuilder flow = new StringBuilder();
+        if (cell != null) {
+            flow.append(cell.replace(' ', '-')).append('/');
         }
-        if (context != null) {
-            context.close();
+        flow.append(getClass().getSimpleName()).append('/').append(method.getName());
+        for (Object parameter : parameters) {
+            flow.append('_').append(parameter);
         }
+        return flow.toString();
     }
 
-    @AfterClass
-    public void tearDownClass() {
-        logger.info("Closing browser and Playwright");
-        if (browser != null) {
-            browser.close();
+    /**
+     * Attach what the network router blocked and served from cache during the test
+     */
+    private void reportNetworkStats() {
+        NetworkStats stats = testNetworkStats.get();
+        testNetworkStats.remove();
+        if (stats.getRequestsBlocked() + stats.getCacheHits() + stats.getCacheMisses() > 0) {
+            logger.info("Network: blocked " + stats.getRequestsBlocked() + " requests, saved "
+                    + stats.getBytesSaved() + " bytes from cache");
+            attachText("Network Routing", stats.toString());
         }
-        if (playwright != null) {
-            playwright.close();
+    }
+
+    /**
+     * Attach where the test's time went between Playwright calls
+     */
+    private void reportCallStats() {
+        CallStats stats = CallStats.finishTest();
+        if (stats != null && !stats.isEmpty()) {
+            attachText("Playwright Calls", stats.toReport(ConfigReader.getIntProperty("instrumentation.slowestSelectors", 10)));
         }
     }
 
+    /**
+     * Attach and keep the buffered log of a failed test; a passing test's log is discarded
+     */
+    private void reportTestLog(ITestResult result) {
+        boolean failed = result.getStatus() == ITestResult.FAILURE || result.getThrowable() != null;
+        String log = TestLog.finish(failed);
+        if (log != null) {
+            attachText("Test Log", log);
+            ArtifactWriter.getInstance().write(Paths.get(uniqueArtifactPath(
+                    ConfigReader.getProperty("log.dir", "target/logs") + "/", result.getName(), "log")),
+                    log.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Keep and attach the test's videos, or hand them to the store for deletion, once the
+     * pool has closed the contexts that recorded them
+     */
+    private void handleVideos(boolean failed) {
+        List<Path> videos = new ArrayList<>(testVideos.get());
+        CompletableFuture<Void> complete = CompletableFuture.allOf(
+                testVideosClosed.get().toArray(new CompletableFuture<?>[0]));
+        testVideos.remove();
+        testVideosClosed.remove();
+        if (videos.isEmpty()) {
+            return;
+        }
+        if (!videoPolicy.shouldRetain(failed)) {
+            complete.whenComplete((ignored, error) -> VideoStore.getInstance().discard(videos));
+            return;
+        }
+        CompletableFuture<?>[] attachments = new CompletableFuture<?>[videos.size()];
+        for (int i = 0; i < videos.size(); i++) {
+            Path video = videos.get(i);
+            attachments[i] = ArtifactWriter.getInstance()
+                    .attachFile("Video - " + video.getFileName(), "video/webm", "webm", video, complete);
+        }
+        // Only trim the video budget once the attachments have been copied
+        CompletableFuture.allOf(attachments)
+                .whenComplete((ignored, error) -> VideoStore.getInstance().retained(videos));
+    }
+
+    /**
+     * Write browser pool launch and wait-time metrics for the run, per browser type in a matrix run
+     */
+    private void writeBrowserPoolMetrics() {
+        for (BrowserPool pool : BrowserPool.getInstances().values()) {
+            BrowserPoolMetrics metrics = pool.getMetrics();
+            String name = BrowserMatrix.isEnabled() ? "browser-pool-" + pool.getBrowserType() : "browser-pool";
+            try {
+                Path metricsFile = Paths.get("target/metrics/" + name + ".json");
+                Files.createDirectories(metricsFile.getParent());
+                Files.write(metricsFile, metrics.toJson().toString().getBytes(StandardCharsets.UTF_8));
+                logger.info("Browser pool metrics (" + pool.getBrowserType() + "): " + metrics);
+            } catch (IOException e) {
+                logger.warn("Failed to write browser pool metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write and attach the Playwright call summary of the whole run, with the slowest selectors
+     */
+    private void writeCallStats(CallStats stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        int slowest = ConfigReader.getIntProperty("instrumentation.slowestSelectors", 10);
+        byte[] summary = stats.toJson(slowest).toString().getBytes(StandardCharsets.UTF_8);
+        Path summaryFile = Paths.get(ConfigReader.getProperty("instrumentation.summaryFile",
+                "target/metrics/playwright-calls.json"));
+        ArtifactWriter.getInstance().write(summaryFile, summary);
+        ArtifactWriter.getInstance().attach("Playwright Calls - Suite", "application/json", "json", summary);
+        logger.info(stats.toReport(slowest));
+    }
+
+    /**
+     * Write and attach the selector profile with the recommended alternative per element
+     */
+    private void writeSelectorProfile() {
+        if (!SelectorProfiler.hasProfiles()) {
+            return;
+        }
+        byte[] profile = SelectorProfiler.toJson().toString().getBytes(StandardCharsets.UTF_8);
+        ArtifactWriter.getInstance().write(Paths.get(ConfigReader.getProperty("selectors.profileFile",
+                "target/metrics/selector-profile.json")), profile);
+        String report = SelectorProfiler.toReport();
+        ArtifactWriter.getInstance().attachText("Selector Profile", report);
+        logger.info(report);
+    }
+
+    /**
+     * Write the locator cache hits and misses of the run
+     */
+    private void writeLocatorRegistryMetrics() {
+        if (LocatorRegistry.isEmpty()) {
+            return;
+        }
+        String metrics = LocatorRegistry.toJson().toString();
+        ArtifactWriter.getInstance().write(Paths.get("target/metrics/locator-registry.json"),
+                metrics.getBytes(StandardCharsets.UTF_8));
+        logger.info("Locator registry metrics: " + metrics);
+    }
+
+    /**
+     * Build an artifact path that is unique across threads and repeated invocations
+     */
+    protected static String uniqueArtifactPath(String directory, String testName, String extension) {
+        return directory + testName + "_" + Thread.currentThread().getId() + "_"
+                + artifactSequence.incrementAndGet() + "." + extension;
+    }
+
     /**
      * Take screenshot on test failure
      */
     protected void takeScreenshot(String testName) {
         if (Boolean.parseBoolean(ConfigReader.getProperty("screenshotOnFailure"))) {
-            String screenshotPath = "target/screenshots/" + testName + "_" + System.currentTimeMillis() + ".png";
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(screenshotPath)));
-            logger.info("Screenshot saved: " + screenshotPath);
+            String screenshotPath = uniqueArtifactPath("target/screenshots/", testName, "png");
+            // Capture on the test thread, write to disk in the background
+            ArtifactWriter.getInstance().write(Paths.get(screenshotPath), getPage().screenshot());
+            logger.info("Screenshot queued: " + screenshotPath);
         }
     }
 
@@ -119,20 +486,26 @@ public class BaseTest {
      */
     protected void attachScreenshotToAllure(String testName) {
         try {
-            byte[] screenshot = page.screenshot();
-            Allure.addAttachment(testName + " - Screenshot", "image/png",
-                    new ByteArrayInputStream(screenshot), "png");
+            byte[] screenshot = getPage().screenshot();
+            ArtifactWriter.getInstance().attach(testName + " - Screenshot", "image/png", "png", screenshot);
             logger.info("Screenshot attached to Allure report for test: " + testName);
         } catch (Exception e) {
             logger.error("Failed to attach screenshot to Allure: " + e.getMessage());
         }
     }
 
+    /**
+     * Attach a text note to the Allure report without blocking the test on I/O
+     */
+    protected void attachText(String name, String content) {
+        ArtifactWriter.getInstance().attachText(name, content);
+    }
+
     /**
      * Navigate to base URL
      */
     protected void navigateToBaseUrl() {
-        page.navigate(ConfigReader.getBaseUrl());
+        getPage().navigate(ConfigReader.getBaseUrl());
         logger.info("Navigated to: " + ConfigReader.getBaseUrl());
     }
 }
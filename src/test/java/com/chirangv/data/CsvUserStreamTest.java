@@ -0,0 +1,76 @@
+package com.chirangv.data;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for CSV user streaming; no browser needed
+ */
+public class CsvUserStreamTest {
+
+    @Test(description = "Plain fields are split at commas and trimmed")
+    public void testParsesPlainFields() {
+        Assert.assertEquals(CsvUserStream.parseLine("johndoe, john@example.com ,Secret1"),
+                Arrays.asList("johndoe", "john@example.com", "Secret1"));
+    }
+
+    @Test(description = "Quoted fields keep their commas")
+    public void testQuotedFieldKeepsCommas() {
+        Assert.assertEquals(CsvUserStream.parseLine("jane,\"Doe, Jane\",\"a,b,c\""),
+                Arrays.asList("jane", "Doe, Jane", "a,b,c"));
+    }
+
+    @Test(description = "A doubled quote inside quotes is a literal quote")
+    public void testDoubledQuoteIsLiteral() {
+        Assert.assertEquals(CsvUserStream.parseLine("\"Say \"\"hi\"\", please\",x"),
+                Arrays.asList("Say \"hi\", please", "x"));
+    }
+
+    @Test(description = "Empty fields, including a trailing one, are kept")
+    public void testKeepsEmptyFields() {
+        Assert.assertEquals(CsvUserStream.parseLine("a,,"), Arrays.asList("a", "", ""));
+        Assert.assertEquals(CsvUserStream.parseLine(""), Collections.singletonList(""));
+    }
+
+    @Test(description = "Rows are mapped by header, skipping blank lines and missing trailing fields")
+    public void testStreamsUsersByHeader() {
+        String csv = "username,email,name\n"
+                + "alice,alice@example.com,\"Smith, Alice\"\n"
+                + "\n"
+                + "bob,bob@example.com\n";
+        try (UserStream users = UserStreams.csv(new StringReader(csv))) {
+            TestUser alice = users.next();
+            Assert.assertEquals(alice.getUsername(), "alice");
+            Assert.assertEquals(alice.getName(), "Smith, Alice");
+
+            TestUser bob = users.next();
+            Assert.assertEquals(bob.getEmail(), "bob@example.com");
+            Assert.assertNull(bob.getName(), "A field missing from the row should be absent");
+
+            Assert.assertFalse(users.hasNext(), "Blank lines should not produce users");
+        }
+    }
+
+    @Test(description = "A source with only a header, or nothing at all, has no users")
+    public void testEmptySources() {
+        try (UserStream users = UserStreams.csv(new StringReader("username,email\n"))) {
+            Assert.assertFalse(users.hasNext());
+        }
+        try (UserStream users = UserStreams.csv(new StringReader(""))) {
+            Assert.assertFalse(users.hasNext());
+        }
+    }
+
+    @Test(description = "Synthetic users are found again by email")
+    public void testSyntheticUserRoundTrip() {
+        TestUser user = UserStreams.syntheticUser(42, 1234);
+        Assert.assertEquals(UserStreams.syntheticIndexOf(user.getEmail()), 1234);
+        Assert.assertEquals(UserStreams.syntheticUser(42, 1234).getPassword(), user.getPassword(),
+                "The same seed and position should yield the same user");
+        Assert.assertEquals(UserStreams.syntheticIndexOf("john@example.com"), -1);
+    }
+}
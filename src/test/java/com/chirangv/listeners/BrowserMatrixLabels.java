@@ -0,0 +1,25 @@
+package com.chirangv.listeners;
+
+import com.chirangv.browser.BrowserMatrix;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.TestResult;
+
+/**
+ * Labels Allure results of a {@link BrowserMatrix} run with their browser and viewport, so
+ * the report can be filtered and grouped by matrix cell. Registered through
+ * META-INF/services.
+ */
+public class BrowserMatrixLabels implements TestLifecycleListener {
+
+    @Override
+    public void beforeTestStart(TestResult result) {
+        for (Parameter parameter : result.getParameters()) {
+            String name = parameter.getName();
+            if (BrowserMatrix.BROWSER_PARAMETER.equals(name) || BrowserMatrix.VIEWPORT_PARAMETER.equals(name)) {
+                result.getLabels().add(new Label().setName(name).setValue(parameter.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.chirangv.listeners;
+
+import com.chirangv.browser.BrowserMatrix;
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Expands every &lt;test&gt; of the suite into one test per {@link BrowserMatrix} cell when
+ * matrix.browsers is set, e.g. "Website Automation Tests [firefox 390x844]", and runs the
+ * cells concurrently.
+ *
+ * Each cell keeps the parallel mode of the original test and gets the same number of
+ * threads, so every engine progresses at the same rate on its own browser pool instead of
+ * the fastest engine taking the threads. Cells are ordered browser by browser, so when
+ * fewer cells than exist may run at once the engines still start evenly.
+ *
+ * Configuration (config.properties):
+ * - matrix.threadsPerCell: threads of each cell (default the test's thread-count)
+ * - matrix.parallelCells: cells running at the same time (default all)
+ */
+public class BrowserMatrixListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserMatrixListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!BrowserMatrix.isEnabled()) {
+            return;
+        }
+        List<String> browsers = BrowserMatrix.getBrowsers();
+        List<String> viewports = BrowserMatrix.getViewports();
+        for (XmlSuite suite : suites) {
+            expand(suite, browsers, viewports.isEmpty() ? Collections.singletonList(null) : viewports);
+        }
+    }
+
+    private static void expand(XmlSuite suite, List<String> browsers, List<String> viewports) {
+        List<XmlTest> cells = new ArrayList<>();
+        for (XmlTest test : new ArrayList<>(suite.getTests())) {
+            XmlSuite.ParallelMode parallel = test.getParallel();
+            int threads = ConfigReader.getIntProperty("matrix.threadsPerCell", test.getThreadCount());
+            for (String viewport : viewports) {
+                for (String browser : browsers) {
+                    cells.add(cell(test, browser, viewport, parallel, threads));
+                }
+            }
+        }
+        suite.setTests(cells);
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(Math.max(1, ConfigReader.getIntProperty("matrix.parallelCells", cells.size())));
+        logger.info("Suite " + suite.getName() + " runs " + cells.size() + " matrix cells, "
+                + suite.getThreadCount() + " at a time: browsers " + browsers + ", viewports " + viewports);
+    }
+
+    private static XmlTest cell(XmlTest test, String browser, String viewport, XmlSuite.ParallelMode parallel,
+                                int threads) {
+        XmlTest cell = (XmlTest) test.clone();
+        cell.setName(test.getName() + " [" + browser + (viewport == null ? "" : " " + viewport) + "]");
+        cell.setParallel(parallel);
+        cell.setThreadCount(threads);
+        // A clone shares the class list and classes of the original; give each cell its own
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            classes.add((XmlClass) xmlClass.clone());
+        }
+        cell.setXmlClasses(classes);
+        // Test parameters also become Allure parameters, which keeps each cell's history apart
+        cell.addParameter(BrowserMatrix.BROWSER_PARAMETER, browser);
+        if (viewport != null) {
+            cell.addParameter(BrowserMatrix.VIEWPORT_PARAMETER, viewport);
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,23 @@
+package com.chirangv.listeners;
+
+import com.chirangv.utils.ConfigReader;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Lets config.properties switch a data provider between sequential and parallel rows:
+ * dataProvider.&lt;name&gt;.parallel=true fans its rows out over the suite's
+ * data-provider-thread-count threads
+ */
+public class DataProviderListener implements IAnnotationTransformer {
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        String parallel = ConfigReader.getProperty("dataProvider." + annotation.getName() + ".parallel");
+        if (parallel != null && !parallel.trim().isEmpty()) {
+            annotation.setParallel(Boolean.parseBoolean(parallel.trim()));
+        }
+    }
+}
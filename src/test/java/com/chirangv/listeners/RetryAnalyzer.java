@@ -0,0 +1,39 @@
+package com.chirangv.listeners;
+
+import com.chirangv.utils.ConfigReader;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retries failed tests up to retry.count times (default 0, i.e. no retries)
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        int maxRetries = ConfigReader.getIntProperty("retry.count", 0);
+        int retried = attempts.getOrDefault(key(result), 0);
+        if (retried < maxRetries) {
+            attempts.put(key(result), retried + 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Which attempt the given invocation is: 0 for the first run, 1 for the first retry...
+     */
+    public static int getRetryAttempt(ITestResult result) {
+        return attempts.getOrDefault(key(result), 0);
+    }
+
+    private static String key(ITestResult result) {
+        return result.getMethod().getQualifiedName() + Arrays.toString(result.getParameters())
+                + "@" + System.identityHashCode(result.getInstance());
+    }
+}
@@ -0,0 +1,24 @@
+package com.chirangv.listeners;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Installs {@link RetryAnalyzer} on every test that does not declare its own
+ */
+public class RetryListener implements IAnnotationTransformer {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+}
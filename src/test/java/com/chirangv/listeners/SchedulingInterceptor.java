@@ -0,0 +1,105 @@
+package com.chirangv.listeners;
+
+import com.chirangv.scheduling.ScheduleOrder;
+import com.chirangv.scheduling.TestHistory;
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reorders the run by recorded history according to schedule.order.
+ *
+ * The suite runs classes in parallel, so whole classes are ordered: by their total expected
+ * duration for longest-first, or by the worst recent failure rate of their methods for
+ * fail-first. Inside a class, methods keep ascending priority; only methods of equal
+ * priority are reordered. Methods with dependsOn are scheduled by TestNG after the methods
+ * they depend on and never reach this interceptor. Sorting is stable, so without history the
+ * declared order is kept.
+ */
+public class SchedulingInterceptor implements IMethodInterceptor, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SchedulingInterceptor.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        // Take the history before this run writes any results
+        TestHistory.snapshot();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ScheduleOrder order = ScheduleOrder.fromConfig();
+        if (order == ScheduleOrder.DECLARED || methods.size() < 2) {
+            return methods;
+        }
+        TestHistory history = TestHistory.snapshot();
+        if (history.isEmpty()) {
+            return methods;
+        }
+        int window = ConfigReader.getIntProperty("schedule.failureWindow", 10);
+        long unknownDuration = history.typicalDurationMillis(10000);
+
+        Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            byClass.computeIfAbsent(instance.getMethod().getRealClass(), key -> new ArrayList<>()).add(instance);
+        }
+
+        Map<Class<?>, Double> classScores = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, List<IMethodInstance>> entry : byClass.entrySet()) {
+            double classScore = 0;
+            for (IMethodInstance instance : entry.getValue()) {
+                double score = score(instance, order, history, window, unknownDuration);
+                classScore = order == ScheduleOrder.LONGEST_FIRST ? classScore + score : Math.max(classScore, score);
+            }
+            classScores.put(entry.getKey(), classScore);
+            entry.getValue().sort(Comparator.comparingInt((IMethodInstance instance) -> instance.getMethod().getPriority())
+                    .thenComparing(Comparator.comparingDouble(
+                            (IMethodInstance instance) -> score(instance, order, history, window, unknownDuration))
+                            .reversed()));
+        }
+
+        List<Class<?>> classes = new ArrayList<>(byClass.keySet());
+        classes.sort(Comparator.comparingDouble((Class<?> testClass) -> classScores.get(testClass)).reversed());
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (Class<?> testClass : classes) {
+            ordered.addAll(byClass.get(testClass));
+        }
+        logger.info("Scheduled " + context.getName() + " " + order + ": " + describe(classes, classScores, order));
+        return ordered;
+    }
+
+    private static double score(IMethodInstance instance, ScheduleOrder order, TestHistory history,
+                                int window, long unknownDuration) {
+        String name = ShardInterceptor.qualifiedName(instance.getMethod());
+        if (order == ScheduleOrder.LONGEST_FIRST) {
+            return history.expectedDurationMillis(name, unknownDuration);
+        }
+        TestHistory.MethodHistory methodHistory = history.get(name);
+        return methodHistory == null ? 0 : methodHistory.getFailureRate(window);
+    }
+
+    private static String describe(List<Class<?>> classes, Map<Class<?>, Double> scores, ScheduleOrder order) {
+        StringBuilder description = new StringBuilder();
+        for (Class<?> testClass : classes) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            double score = scores.get(testClass);
+            description.append(testClass.getSimpleName()).append(order == ScheduleOrder.LONGEST_FIRST
+                    ? " (" + (long) score + " ms)"
+                    : String.format(" (%.0f%% failing)", score * 100));
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.chirangv.listeners;
+
+import com.chirangv.scheduling.ShardPlanner;
+import com.chirangv.scheduling.TestHistory;
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs only this JVM's share of the suite when shard.count &gt; 1. Methods are balanced across
+ * shards by their durations in earlier Allure results (see {@link TestHistory}); every shard
+ * must see the same history for the shards to stay disjoint, e.g. a results directory
+ * restored from the previous CI run.
+ *
+ * Usage: mvn test -Dshard.index=0 -Dshard.count=3 (index is zero-based)
+ */
+public class ShardInterceptor implements IMethodInterceptor, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ShardInterceptor.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        // Take the history before this run writes any results
+        TestHistory.snapshot();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int shardCount = ConfigReader.getIntProperty("shard.count", 1);
+        if (shardCount <= 1) {
+            return methods;
+        }
+        int shardIndex = ConfigReader.getIntProperty("shard.index", 0);
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (shardCount - 1)
+                    + ": " + shardIndex);
+        }
+
+        TestHistory history = TestHistory.snapshot();
+        long unknownDuration = ConfigReader.getIntProperty("shard.defaultDurationMs",
+                (int) history.typicalDurationMillis(10000));
+
+        Set<String> names = new LinkedHashSet<>();
+        for (IMethodInstance instance : methods) {
+            names.add(qualifiedName(instance.getMethod()));
+        }
+        Map<String, Integer> plan = ShardPlanner.plan(names, shardCount,
+                name -> history.expectedDurationMillis(name, unknownDuration));
+
+        List<IMethodInstance> mine = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            if (plan.get(qualifiedName(instance.getMethod())) == shardIndex) {
+                mine.add(instance);
+            }
+        }
+        long[] totals = ShardPlanner.shardDurations(plan, shardCount,
+                name -> history.expectedDurationMillis(name, unknownDuration));
+        logger.info("Shard " + shardIndex + "/" + shardCount + " of " + context.getName() + ": runs "
+                + mine.size() + " of " + methods.size() + " methods; expected shard durations (ms) "
+                + Arrays.toString(totals));
+        return mine;
+    }
+
+    static String qualifiedName(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+}
@@ -0,0 +1,36 @@
+package com.chirangv.listeners;
+
+import com.chirangv.server.StandInServer;
+import com.chirangv.utils.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Runs the suite against the local {@link StandInServer} instead of the real site when
+ * standin.enabled=true, by pointing baseUrl at it for the duration of the suite
+ */
+public class StandInSiteListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(StandInSiteListener.class);
+    private StandInServer server;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ConfigReader.getBooleanProperty("standin.enabled", false)) {
+            return;
+        }
+        server = StandInServer.fromConfig().start();
+        ConfigReader.overrideProperty("baseUrl", server.getBaseUrl());
+        logger.info("Suite " + suite.getName() + " runs against the stand-in site at " + server.getBaseUrl());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (server != null) {
+            ConfigReader.overrideProperty("baseUrl", null);
+            server.stop();
+            server = null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.chirangv.logging;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for masking secrets in logs; no browser needed
+ */
+public class TestLogTest {
+
+    @Test(description = "Password inputs and fields named after a mask key are secret")
+    public void testSecretFields() {
+        Assert.assertTrue(TestLog.isSecretField("input[type='password']"));
+        Assert.assertTrue(TestLog.isSecretField("input[type=password], #pw"));
+        Assert.assertTrue(TestLog.isSecretField("input[name=\"user_password\"]"));
+        Assert.assertTrue(TestLog.isSecretField("[id*='apiToken']"));
+    }
+
+    @Test(description = "Ordinary fields are not secret")
+    public void testOrdinaryFields() {
+        Assert.assertFalse(TestLog.isSecretField("input[type='email']"));
+        Assert.assertFalse(TestLog.isSecretField("input[name='phone'], #phone"));
+        Assert.assertFalse(TestLog.isSecretField("textarea"));
+        Assert.assertFalse(TestLog.isSecretField(null));
+    }
+
+    @Test(description = "Values of mask keys are replaced in messages")
+    public void testMasksKeyValues() {
+        Assert.assertEquals(TestLog.mask("login password=hunter2 ok"), "login password=" + TestLog.MASK + " ok");
+        Assert.assertEquals(TestLog.mask("{\"token\": \"abc\"}"), "{\"token\": \"" + TestLog.MASK + "\"}");
+        Assert.assertEquals(TestLog.mask("Filled input #email with 12 characters"),
+                "Filled input #email with 12 characters");
+    }
+}
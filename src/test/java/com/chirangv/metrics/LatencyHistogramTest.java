@@ -0,0 +1,114 @@
+package com.chirangv.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the bucket math and percentiles of the latency histogram; no browser needed
+ */
+public class LatencyHistogramTest {
+
+    @Test(description = "Values below 128 us have a bucket of their own")
+    public void testLinearBuckets() {
+        for (long micros = 0; micros < 128; micros++) {
+            Assert.assertEquals(LatencyHistogram.index(micros), (int) micros);
+            Assert.assertEquals(LatencyHistogram.midpoint((int) micros), (double) micros);
+        }
+    }
+
+    @Test(description = "From 128 us on, every power of two is split into 64 buckets")
+    public void testLogarithmicBoundaries() {
+        Assert.assertEquals(LatencyHistogram.index(127), 127);
+        Assert.assertEquals(LatencyHistogram.index(128), 128);
+        Assert.assertEquals(LatencyHistogram.index(129), 128, "128 and 129 us share a two-wide bucket");
+        Assert.assertEquals(LatencyHistogram.index(130), 129);
+        Assert.assertEquals(LatencyHistogram.index(255), 191);
+        Assert.assertEquals(LatencyHistogram.index(256), 192);
+        Assert.assertEquals(LatencyHistogram.midpoint(128), 128.5);
+        Assert.assertEquals(LatencyHistogram.midpoint(192), 257.5);
+    }
+
+    @Test(description = "Buckets are contiguous up to MAX_MICROS, which falls in the last one")
+    public void testBucketsAreContiguous() {
+        Assert.assertEquals(LatencyHistogram.index(LatencyHistogram.MAX_MICROS), LatencyHistogram.BUCKETS - 1);
+        long previousValue = 0;
+        int previous = 0;
+        for (long micros = 1; micros <= LatencyHistogram.MAX_MICROS; micros += Math.max(1, micros / 200)) {
+            int index = LatencyHistogram.index(micros);
+            Assert.assertTrue(index == previous || index == previous + 1,
+                    "Bucket skipped between " + previousValue + " and " + micros + " us");
+            previous = index;
+            previousValue = micros;
+        }
+    }
+
+    @Test(description = "Every bucket's midpoint is within 1.6% of any value it holds")
+    public void testPrecision() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long micros = 128 + (long) Math.pow(2, random.nextDouble() * 33) % (LatencyHistogram.MAX_MICROS - 128);
+            double midpoint = LatencyHistogram.midpoint(LatencyHistogram.index(micros));
+            Assert.assertTrue(Math.abs(midpoint - micros) / micros <= 0.016,
+                    micros + " us reported as " + midpoint + " us");
+        }
+    }
+
+    @Test(description = "p100 is the maximum and p0 the smallest bucket")
+    public void testPercentileEnds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 100; millis++) {
+            histogram.recordMillis(millis);
+        }
+        Assert.assertEquals(histogram.getPercentileMillis(100), 100.0);
+        Assert.assertEquals(histogram.getMaxMillis(), 100.0);
+        Assert.assertEquals(histogram.getPercentileMillis(0), 1.0, 0.016);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 50.0, 50 * 0.016);
+        Assert.assertEquals(histogram.getPercentileMillis(95), 95.0, 95 * 0.016);
+    }
+
+    @Test(description = "Percentiles never exceed the largest recorded value")
+    public void testPercentileCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(129_000);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 0.129);
+        histogram.recordNanos(128_000);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 0.1285, "Both values share the 128-129 us bucket");
+    }
+
+    @Test(description = "Negative values count as zero and values beyond MAX_MICROS as MAX_MICROS")
+    public void testClampsOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5_000);
+        histogram.recordMillis(10L * 3600 * 1000);
+        Assert.assertEquals(histogram.getCount(), 2);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 0.0);
+        Assert.assertEquals(histogram.getMaxMillis(), LatencyHistogram.MAX_MICROS / 1000.0);
+        Assert.assertEquals(histogram.getPercentileMillis(100), LatencyHistogram.MAX_MICROS / 1000.0);
+    }
+
+    @Test(description = "An empty histogram reports zeros")
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMeanMillis(), 0.0);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 0.0);
+    }
+
+    @Test(description = "Adding a histogram merges counts, totals and maximum")
+    public void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        first.recordMillis(10);
+        first.recordMillis(20);
+        LatencyHistogram second = new LatencyHistogram();
+        second.recordMillis(30);
+
+        first.add(second);
+        Assert.assertEquals(first.getCount(), 3);
+        Assert.assertEquals(first.getTotalMillis(), 60.0);
+        Assert.assertEquals(first.getMeanMillis(), 20.0);
+        Assert.assertEquals(first.getMaxMillis(), 30.0);
+        Assert.assertEquals(first.getPercentileMillis(100), 30.0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.chirangv.pages;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit tests for parsing declared selectors into alternatives; no browser needed
+ */
+public class ElementTest {
+
+    @Test(description = "Top-level commas separate alternatives, which are trimmed")
+    public void testSplitsUnion() {
+        Element element = Element.of("textarea[name='message'],  textarea ,#message");
+        Assert.assertEquals(element.getBranches(), Arrays.asList("textarea[name='message']", "textarea", "#message"));
+        Assert.assertTrue(element.isUnion());
+        Assert.assertEquals(element.getSelector(), "textarea[name='message'],  textarea ,#message");
+    }
+
+    @Test(description = "A single selector is its own only alternative")
+    public void testSingleSelector() {
+        Element element = Element.of("button:has-text('Send')");
+        Assert.assertEquals(element.getBranches(), Collections.singletonList("button:has-text('Send')"));
+        Assert.assertFalse(element.isUnion());
+    }
+
+    @Test(description = "Commas inside quotes, brackets or parentheses do not split")
+    public void testNestedCommasDoNotSplit() {
+        Assert.assertEquals(Element.of("text=\"Hello, world\"").getBranches(),
+                Collections.singletonList("text=\"Hello, world\""));
+        Assert.assertEquals(Element.of("[title='a, b'], .x").getBranches(), Arrays.asList("[title='a, b']", ".x"));
+        Assert.assertEquals(Element.of("div:is(.a, .b), span").getBranches(), Arrays.asList("div:is(.a, .b)", "span"));
+        Assert.assertEquals(Element.of("[data-x=\"[1, 2]\"]").getBranches(),
+                Collections.singletonList("[data-x=\"[1, 2]\"]"));
+    }
+
+    @Test(description = "Text can be mixed with CSS in a union")
+    public void testMixedEngines() {
+        Assert.assertEquals(Element.of("text=Message sent, [role='status']").getBranches(),
+                Arrays.asList("text=Message sent", "[role='status']"));
+    }
+
+    @Test(description = "An escaped quote does not end a quoted string")
+    public void testEscapedQuote() {
+        Assert.assertEquals(Element.of("[title='it\\'s, fine'], p").getBranches(),
+                Arrays.asList("[title='it\\'s, fine']", "p"));
+    }
+
+    @Test(description = "Text elements are never split")
+    public void testTextElement() {
+        Element element = Element.text("Hello, world");
+        Assert.assertEquals(element.getBranches(), Collections.singletonList("text=Hello, world"));
+        Assert.assertEquals(element, Element.text("Hello, world"), "Elements with the same selector are equal");
+        Assert.assertEquals(element.hashCode(), Element.text("Hello, world").hashCode());
+    }
+
+    @DataProvider(name = "malformedSelectors")
+    public Object[][] malformedSelectors() {
+        return new Object[][]{
+                {""},
+                {"   "},
+                {"a,,b"},
+                {"a, "},
+                {"a, b, a"},
+                {"[name='x'"},
+                {"div)"},
+                {"div:is(.a"},
+                {"text='unterminated"},
+        };
+    }
+
+    @Test(dataProvider = "malformedSelectors", expectedExceptions = IllegalArgumentException.class,
+            description = "Malformed selectors are rejected when declared")
+    public void testRejectsMalformedSelectors(String selector) {
+        Element.of(selector);
+    }
+}
@@ -0,0 +1,94 @@
+package com.chirangv.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for shard planning; no browser needed
+ */
+public class ShardPlannerTest {
+
+    private static Map<String, Long> durations(Object... nameAndMillis) {
+        Map<String, Long> durations = new HashMap<>();
+        for (int i = 0; i < nameAndMillis.length; i += 2) {
+            durations.put((String) nameAndMillis[i], ((Number) nameAndMillis[i + 1]).longValue());
+        }
+        return durations;
+    }
+
+    @Test(description = "Every method goes to exactly one shard in range")
+    public void testPlanIsCompleteAndInRange() {
+        Map<String, Long> durations = durations("a", 5, "b", 3, "c", 8, "d", 1, "e", 2);
+        Map<String, Integer> plan = ShardPlanner.plan(durations.keySet(), 3, durations::get);
+
+        Assert.assertEquals(plan.keySet(), durations.keySet());
+        for (int shard : plan.values()) {
+            Assert.assertTrue(shard >= 0 && shard < 3, "Shard out of range: " + shard);
+        }
+    }
+
+    @Test(description = "Longest methods are spread first, each to the least loaded shard")
+    public void testLongestProcessingTimeBalance() {
+        Map<String, Long> durations = durations("a", 7, "b", 5, "c", 4, "d", 3, "e", 1);
+        Map<String, Integer> plan = ShardPlanner.plan(durations.keySet(), 2, durations::get);
+
+        // LPT: a->0 (7), b->1 (5), c->1 (9), d->0 (10), e->1 (10)
+        Assert.assertEquals(ShardPlanner.shardDurations(plan, 2, durations::get), new long[]{10, 10});
+        Assert.assertEquals((int) plan.get("a"), 0);
+        Assert.assertEquals((int) plan.get("b"), 1);
+        Assert.assertNotEquals(plan.get("a"), plan.get("b"), "The two longest methods should not share a shard");
+    }
+
+    @Test(description = "One long method gets a shard to itself")
+    public void testLongMethodIsolated() {
+        Map<String, Long> durations = durations("journey", 100, "a", 10, "b", 10, "c", 10);
+        Map<String, Integer> plan = ShardPlanner.plan(durations.keySet(), 2, durations::get);
+
+        int journeyShard = plan.get("journey");
+        for (String method : Arrays.asList("a", "b", "c")) {
+            Assert.assertNotEquals((int) plan.get(method), journeyShard);
+        }
+    }
+
+    @Test(description = "The plan does not depend on the order methods are listed in")
+    public void testPlanIsDeterministic() {
+        Map<String, Long> durations = durations("a", 4, "b", 4, "c", 4, "d", 4, "e", 2, "f", 2);
+        List<String> names = new ArrayList<>(durations.keySet());
+        Map<String, Integer> first = ShardPlanner.plan(names, 3, durations::get);
+
+        Collections.reverse(names);
+        Assert.assertEquals(ShardPlanner.plan(names, 3, durations::get), first);
+        Collections.shuffle(names, new Random(7));
+        Assert.assertEquals(ShardPlanner.plan(names, 3, durations::get), first);
+    }
+
+    @Test(description = "Shards that each plan alone cover every method exactly once")
+    public void testShardsAreDisjointAndComplete() {
+        Map<String, Long> durations = durations("a", 9, "b", 6, "c", 6, "d", 3, "e", 3, "f", 1, "g", 1);
+        int shardCount = 3;
+        Map<String, Integer> covered = new HashMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            // Each shard JVM computes the plan on its own
+            Map<String, Integer> plan = ShardPlanner.plan(durations.keySet(), shardCount, durations::get);
+            for (Map.Entry<String, Integer> entry : plan.entrySet()) {
+                if (entry.getValue() == shard) {
+                    Assert.assertNull(covered.put(entry.getKey(), shard), entry.getKey() + " runs on two shards");
+                }
+            }
+        }
+        Assert.assertEquals(covered.keySet(), durations.keySet());
+    }
+
+    @Test(description = "A plan needs at least one shard", expectedExceptions = IllegalArgumentException.class)
+    public void testRejectsZeroShards() {
+        ShardPlanner.plan(Collections.singletonList("a"), 0, name -> 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.chirangv.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for reading durations from Allure results; no browser needed
+ */
+public class TestHistoryTest {
+    private static final String JOURNEY = "com.chirangv.tests.EndToEndTest.testCompleteUserJourney";
+    private static final String HOME = "com.chirangv.tests.HomePageTest.testHomePageLoads";
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private Path resultsDir;
+
+    @BeforeMethod
+    public void createResultsDir() throws IOException {
+        resultsDir = Files.createTempDirectory("history");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteResultsDir() throws IOException {
+        try (Stream<Path> files = Files.walk(resultsDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private void result(String fullName, String pid, long start, long millis, String status, String... parameters)
+            throws IOException {
+        StringBuilder json = new StringBuilder("{\"fullName\":\"").append(fullName).append("\",")
+                .append("\"status\":\"").append(status).append("\",")
+                .append("\"start\":").append(start).append(",\"stop\":").append(start + millis).append(',')
+                .append("\"labels\":[{\"name\":\"host\",\"value\":\"ci.example.com\"},")
+                .append("{\"name\":\"thread\",\"value\":\"").append(pid).append("@ci.example.com.TestNG-1\"}],")
+                .append("\"parameters\":[");
+        for (int i = 0; i < parameters.length; i += 2) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"").append(parameters[i])
+                    .append("\",\"value\":\"").append(parameters[i + 1]).append("\"}");
+        }
+        json.append("]}");
+        Files.write(resultsDir.resolve(sequence.incrementAndGet() + "-result.json"),
+                json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(description = "A data-driven method is weighted by all its invocations in one run")
+    public void testDataDrivenMethodWeightedByInvocations() throws IOException {
+        for (int row = 0; row < 3; row++) {
+            result(JOURNEY, "100", 1000 + row, 2000, "passed", "arg0", "user" + row);
+        }
+        result(HOME, "100", 1000, 1500, "passed");
+
+        TestHistory history = TestHistory.load(Collections.singletonList(resultsDir));
+        Assert.assertEquals(history.get(JOURNEY).getMedianDurationMillis(), 2000);
+        Assert.assertEquals(history.get(JOURNEY).getInvocationsPerRun(), 3);
+        Assert.assertEquals(history.expectedDurationMillis(JOURNEY, 0), 6000);
+        Assert.assertEquals(history.expectedDurationMillis(HOME, 0), 1500);
+    }
+
+    @Test(description = "Only the latest run counts invocations; retries and matrix cells count once")
+    public void testInvocationsCountedInLatestRunOnly() throws IOException {
+        // An older run with more rows
+        for (int row = 0; row < 5; row++) {
+            result(JOURNEY, "100", 1000 + row, 1000, "passed", "arg0", "user" + row);
+        }
+        // The latest run: two rows on two engines, one row retried
+        for (String browser : new String[]{"chromium", "firefox"}) {
+            result(JOURNEY, "200", 5000, 1000, "passed", "browser", browser, "arg0", "user0");
+            result(JOURNEY, "200", 5001, 1000, "passed", "browser", browser, "arg0", "user1");
+        }
+        result(JOURNEY, "200", 5002, 1000, "failed", "browser", "chromium", "arg0", "user1");
+
+        TestHistory history = TestHistory.load(Collections.singletonList(resultsDir));
+        Assert.assertEquals(history.get(JOURNEY).getInvocationsPerRun(), 2);
+        Assert.assertEquals(history.expectedDurationMillis(JOURNEY, 0), 2000);
+    }
+
+    @Test(description = "Unknown methods fall back to the default, and missing directories are empty history")
+    public void testUnknownMethodsAndMissingDirectory() {
+        TestHistory history = TestHistory.load(Collections.singletonList(resultsDir.resolve("missing")));
+        Assert.assertTrue(history.isEmpty());
+        Assert.assertEquals(history.expectedDurationMillis(HOME, 1234), 1234);
+        Assert.assertEquals(history.typicalDurationMillis(10000), 10000);
+    }
+}
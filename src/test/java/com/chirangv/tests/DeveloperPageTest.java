@@ -2,8 +2,10 @@ package com.chirangv.tests;
 
 import com.chirangv.base.BaseTest;
 import com.chirangv.pages.DeveloperPage;
+import com.chirangv.pages.ProbeResult;
 import com.chirangv.utils.ConfigReader;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -12,23 +14,33 @@ import org.testng.annotations.Test;
  */
 public class DeveloperPageTest extends BaseTest {
 
-    private DeveloperPage developerPage;
+    private static final ThreadLocal<DeveloperPage> developerPage = new ThreadLocal<>();
 
-    @BeforeMethod
-    @Override
-    public void setUp() {
-        super.setUp();
-        developerPage = new DeveloperPage(page);
+    @BeforeMethod(alwaysRun = true)
+    public void setUpDeveloperPage() {
+        developerPage.set(new DeveloperPage(getPage()));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownDeveloperPage() {
+        developerPage.remove();
+    }
+
+    /**
+     * Developer page object for the current test thread, created once per test method
+     */
+    private DeveloperPage developerPage() {
+        return developerPage.get();
     }
 
     @Test(priority = 1, description = "Verify Developer Page loads successfully")
     public void testDeveloperPageLoads() {
         logger.info("Starting test: Verify Developer Page loads successfully");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isDeveloperPageDisplayed(), "Developer page should be displayed");
-        Assert.assertTrue(page.url().contains("/developer"), "URL should contain /developer");
+        Assert.assertTrue(developerPage().isDeveloperPageDisplayed(), "Developer page should be displayed");
+        Assert.assertTrue(getPage().url().contains("/developer"), "URL should contain /developer");
 
         logger.info("Developer Page loaded successfully");
     }
@@ -37,9 +49,9 @@ public class DeveloperPageTest extends BaseTest {
     public void testTechnicalExpertiseSection() {
         logger.info("Starting test: Verify Technical Expertise section");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isTechnicalExpertiseSectionVisible(),
+        Assert.assertTrue(developerPage().isTechnicalExpertiseSectionVisible(),
                 "Technical Expertise section should be visible");
 
         logger.info("Technical Expertise section is visible");
@@ -49,16 +61,11 @@ public class DeveloperPageTest extends BaseTest {
     public void testAllExpertiseAreas() {
         logger.info("Starting test: Verify all expertise areas are mentioned");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isFullStackDevMentioned(),
-                "Full-Stack Development should be mentioned");
-        Assert.assertTrue(developerPage.isAIChatbotMentioned(),
-                "AI & Chatbot Integration should be mentioned");
-        Assert.assertTrue(developerPage.isDatabaseDesignMentioned(),
-                "Database Design & Optimization should be mentioned");
-        Assert.assertTrue(developerPage.isAPIDevMentioned(),
-                "API Development & Integration should be mentioned");
+        ProbeResult expertise = developerPage().probeExpertiseAreas();
+        Assert.assertTrue(expertise.allVisible(),
+                "Expertise areas should be mentioned, missing: " + expertise.missing());
 
         logger.info("All expertise areas are mentioned");
     }
@@ -67,9 +74,9 @@ public class DeveloperPageTest extends BaseTest {
     public void testSkillsSection() {
         logger.info("Starting test: Verify Skills & Technologies section");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isSkillsSectionVisible(),
+        Assert.assertTrue(developerPage().isSkillsSectionVisible(),
                 "Skills & Technologies section should be visible");
 
         logger.info("Skills & Technologies section is visible");
@@ -79,14 +86,11 @@ public class DeveloperPageTest extends BaseTest {
     public void testAllSkillCategories() {
         logger.info("Starting test: Verify all skill categories are present");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isFrontendSectionVisible(),
-                "Frontend section should be visible");
-        Assert.assertTrue(developerPage.isBackendSectionVisible(),
-                "Backend section should be visible");
-        Assert.assertTrue(developerPage.isDevOpsSectionVisible(),
-                "DevOps & Tools section should be visible");
+        ProbeResult skills = developerPage().probeSkillSections();
+        Assert.assertTrue(skills.allVisible(),
+                "Skill sections should be visible, missing: " + skills.missing());
 
         logger.info("All skill categories are present");
     }
@@ -95,9 +99,9 @@ public class DeveloperPageTest extends BaseTest {
     public void testDeveloperResourcesSection() {
         logger.info("Starting test: Verify Developer Resources section");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.isDeveloperResourcesVisible(),
+        Assert.assertTrue(developerPage().isDeveloperResourcesVisible(),
                 "Developer Resources section should be visible");
 
         logger.info("Developer Resources section is visible");
@@ -107,10 +111,11 @@ public class DeveloperPageTest extends BaseTest {
     public void testAllMainSectionsVisible() {
         logger.info("Starting test: Verify all main sections are visible");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.areAllMainSectionsVisible(),
-                "All main sections should be visible");
+        ProbeResult sections = developerPage().probeMainSections();
+        Assert.assertTrue(sections.allVisible(),
+                "All main sections should be visible, missing: " + sections.missing());
 
         logger.info("All main sections are visible");
     }
@@ -119,13 +124,12 @@ public class DeveloperPageTest extends BaseTest {
     public void testNavigationToLogin() {
         logger.info("Starting test: Verify navigation to login");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
-        developerPage.clickLoginToConnect();
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
         // Wait for navigation
-        page.waitForTimeout(1000);
+        developerPage().clickLoginToConnect().waitForUrl("**/login**");
 
-        Assert.assertTrue(page.url().contains("/login"),
+        Assert.assertTrue(getPage().url().contains("/login"),
                 "Should navigate to login page");
 
         logger.info("Successfully navigated to login page");
@@ -135,8 +139,8 @@ public class DeveloperPageTest extends BaseTest {
     public void testDeveloperPageTitle() {
         logger.info("Starting test: Verify developer page title");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
-        String pageTitle = developerPage.getPageTitle();
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
+        String pageTitle = developerPage().getPageTitle();
 
         Assert.assertNotNull(pageTitle, "Page title should not be null");
 
@@ -147,12 +151,14 @@ public class DeveloperPageTest extends BaseTest {
     public void testCompleteSkillsAndExpertise() {
         logger.info("Starting test: Verify complete skills and expertise");
 
-        developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
+        developerPage().navigateToDeveloper(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(developerPage.areAllExpertiseAreasMentioned(),
-                "All expertise areas should be mentioned");
-        Assert.assertTrue(developerPage.areAllSkillSectionsPresent(),
-                "All skill sections should be present");
+        ProbeResult expertise = developerPage().probeExpertiseAreas();
+        ProbeResult skills = developerPage().probeSkillSections();
+        Assert.assertTrue(expertise.allVisible(),
+                "All expertise areas should be mentioned, missing: " + expertise.missing());
+        Assert.assertTrue(skills.allVisible(),
+                "All skill sections should be present, missing: " + skills.missing());
 
         logger.info("Complete skills and expertise verified");
     }
@@ -1,15 +1,18 @@
 package com.chirangv.tests;
 
 import com.chirangv.base.BaseTest;
+import com.chirangv.data.TestDataRepository;
+import com.chirangv.data.TestUser;
+import com.chirangv.data.UserStreams;
 import com.chirangv.pages.*;
 import com.chirangv.utils.ConfigReader;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
+
 /**
  * End-to-End Test Class
  * 
@@ -34,40 +37,40 @@ public class EndToEndTest extends BaseTest {
         };
     }
 
+    /**
+     * Streams the users for scale runs (scale.source, scale.users, scale.seed) one row at a
+     * time. dataProvider.scaleUserProvider.parallel=true fans the rows out, but TestNG then
+     * reads all of them before running any, so memory is no longer flat
+     */
+    @DataProvider(name = "scaleUserProvider")
+    public Iterator<Object[]> getScaleUsers() {
+        return UserStreams.asRows(UserStreams.fromConfig());
+    }
+
     /**
      * Helper method to get user data by username
      */
-    private JsonObject getUserByUsername(String username) {
-        JsonArray users = ConfigReader.getTestData().getAsJsonArray("testUsers");
-
-        for (int i = 0; i < users.size(); i++) {
-            JsonObject user = users.get(i).getAsJsonObject();
-            if (user.get("username").getAsString().equals(username)) {
-                logger.info("Found user data for username: " + username);
-                return user;
-            }
+    private TestUser getUserByUsername(String username) {
+        TestUser user = TestDataRepository.getInstance().getUser(username);
+        if (user == null) {
+            logger.error("User not found with username: " + username);
+        } else {
+            logger.info("Found user data for username: " + username);
         }
-
-        logger.error("User not found with username: " + username);
-        return null;
+        return user;
     }
 
     /**
      * Helper method to get admin user data
      */
-    private JsonObject getAdminUser() {
-        JsonArray users = ConfigReader.getTestData().getAsJsonArray("testUsers");
-
-        for (int i = 0; i < users.size(); i++) {
-            JsonObject user = users.get(i).getAsJsonObject();
-            if (user.get("userType").getAsString().equals("adminUser")) {
-                logger.info("Found admin user data");
-                return user;
-            }
+    private TestUser getAdminUser() {
+        TestUser admin = TestDataRepository.getInstance().getUserOfType("adminUser");
+        if (admin == null) {
+            logger.error("Admin user not found");
+        } else {
+            logger.info("Found admin user data");
         }
-
-        logger.error("Admin user not found");
-        return null;
+        return admin;
     }
 
     /**
@@ -92,19 +95,18 @@ public class EndToEndTest extends BaseTest {
         logger.info("=== Starting End-to-End Test for user: " + username + " ===");
 
         // Step 1: Get user data
-        JsonObject userData = getUserByUsername(username);
+        TestUser userData = getUserByUsername(username);
         Assert.assertNotNull(userData, "User data should not be null for username: " + username);
 
-        String email = userData.get("email").getAsString();
-        String password = userData.get("password").getAsString();
-        String name = userData.get("name").getAsString();
-        String phone = userData.get("phone").getAsString();
-        String message = userData.get("message").getAsString();
+        String email = userData.getEmail();
+        String name = userData.getName();
+        String phone = userData.getPhone();
+        String message = userData.getMessage();
 
         logger.info("User data loaded: " + name + " (" + email + ")");
 
         // Step 2: User Login
-        performUserLogin(email, password, name);
+        performUserLogin(username, email, name);
 
         // Step 3: Navigate Home Page
         exploreHomePage();
@@ -146,50 +148,53 @@ public class EndToEndTest extends BaseTest {
         testCompleteUserJourney("alicejohnson");
     }
 
-    // ==================== Helper Methods ====================
-
-    @Step("Step 1: User logs in with credentials")
-    private void performUserLogin(String email, String password, String name) {
-        logger.info("Step 1: Logging in as user: " + name);
+    /**
+     * User journey for every streamed user; excluded from the default suite, run it with
+     * testng-scale.xml
+     */
+    @Test(groups = "scale", dataProvider = "scaleUserProvider", description = "User journey at scale")
+    @Description("Logs in, browses and sends a message for each user from the scale data source")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("User Journey at Scale")
+    public void testUserJourneyAtScale(TestUser user) {
+        logger.info("Starting scale journey for user: " + user.getUsername());
 
-        LoginPage loginPage = new LoginPage(page);
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
+        LoginPage loginPage = new LoginPage(getPage()).navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage.login(user.getEmail(), user.getPassword());
+        boolean loggedIn = loginPage.waitUntil("login of " + user.getUsername(),
+                () -> !getPage().url().contains("/login"), ConfigReader.getIntProperty("wait.timeout", 10000))
+                .isSatisfied();
+        Assert.assertTrue(loggedIn, "Login failed for user: " + user.getUsername());
 
-        Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
+        exploreHomePage();
+        exploreDeveloperPage();
+        sendUserMessage(user.getName(), user.getEmail(), user.getPhone(), user.getMessage());
+    }
 
-        loginPage.login(email, password);
+    // ==================== Helper Methods ====================
 
-        // Wait for navigation after login
-        page.waitForTimeout(3000);
+    @Step("Step 1: User logs in with credentials")
+    private void performUserLogin(String username, String email, String name) {
+        logger.info("Step 1: Logging in as user: " + name);
 
-        // CRITICAL: Verify login success/failure
-        String currentUrl = page.url();
-        boolean isStillOnLoginPage = currentUrl.contains("/login");
+        // Logs in through the UI only when no valid cached session exists for this user;
+        // fails the test with the site's error message if the login is rejected
+        useAuthenticatedSession(username);
 
-        if (isStillOnLoginPage) {
-            // Check for error messages
-            boolean hasErrorMessage = page.locator("text=/error|invalid|incorrect|failed/i").count() > 0;
+        String currentUrl = getPage().url();
+        Assert.assertFalse(currentUrl.contains("/login"),
+                "Login failed: User " + name + " is still on login page after login attempt.");
 
-            if (hasErrorMessage) {
-                String errorText = page.locator("text=/error|invalid|incorrect|failed/i").first().textContent();
-                logger.error("Login failed with error: " + errorText);
-                Allure.addAttachment("Login Error", errorText);
-                Assert.fail("Login failed for user: " + name + ". Error: " + errorText);
-            } else {
-                Assert.fail("Login failed: User " + name + " is still on login page after login attempt.");
-            }
-        } else {
-            logger.info("Login successful for: " + email + ". Navigated to: " + currentUrl);
-            Allure.addAttachment("Login Success",
-                    "User: " + name + "\nEmail: " + email + "\nRedirected to: " + currentUrl);
-        }
+        logger.info("Login successful for: " + email + ". Navigated to: " + currentUrl);
+        attachText("Login Success",
+                "User: " + name + "\nEmail: " + email + "\nRedirected to: " + currentUrl);
     }
 
     @Step("Step 2: Explore Home Page")
     private void exploreHomePage() {
         logger.info("Step 2: Exploring Home Page");
 
-        HomePage homePage = new HomePage(page);
+        HomePage homePage = new HomePage(getPage());
         homePage.navigateToHome(ConfigReader.getBaseUrl());
 
         Assert.assertTrue(homePage.isHeaderVisible(), "Home page header should be visible");
@@ -198,14 +203,14 @@ public class EndToEndTest extends BaseTest {
         String welcomeMessage = homePage.getWelcomeMessage();
         logger.info("Welcome message: " + welcomeMessage);
 
-        Allure.addAttachment("Home Page", "Verified all sections are visible");
+        attachText("Home Page", "Verified all sections are visible");
     }
 
     @Step("Step 3: Explore Developer Page and Resources")
     private void exploreDeveloperPage() {
         logger.info("Step 3: Exploring Developer Page");
 
-        DeveloperPage developerPage = new DeveloperPage(page);
+        DeveloperPage developerPage = new DeveloperPage(getPage());
         developerPage.navigateToDeveloper(ConfigReader.getBaseUrl());
 
         Assert.assertTrue(developerPage.isDeveloperPageDisplayed(), "Developer page should be displayed");
@@ -215,8 +220,8 @@ public class EndToEndTest extends BaseTest {
         try {
             logger.info("Attempting to explore My Projects");
             developerPage.clickMyProjects();
-            page.waitForTimeout(1000);
-            page.goBack();
+            developerPage.waitForPageLoad();
+            getPage().goBack();
             logger.info("Navigated back from Projects");
         } catch (Exception e) {
             logger.info("My Projects link not clickable or requires authentication: " + e.getMessage());
@@ -225,21 +230,21 @@ public class EndToEndTest extends BaseTest {
         try {
             logger.info("Attempting to explore Documentation");
             developerPage.clickDocumentation();
-            page.waitForTimeout(1000);
-            page.goBack();
+            developerPage.waitForPageLoad();
+            getPage().goBack();
             logger.info("Navigated back from Documentation");
         } catch (Exception e) {
             logger.info("Documentation link not clickable or requires authentication: " + e.getMessage());
         }
 
-        Allure.addAttachment("Developer Page", "Explored technical expertise and resources");
+        attachText("Developer Page", "Explored technical expertise and resources");
     }
 
     @Step("Step 4: Send message through contact form")
     private void sendUserMessage(String name, String email, String phone, String message) {
         logger.info("Step 4: Sending message");
 
-        ContactPage contactPage = new ContactPage(page);
+        ContactPage contactPage = new ContactPage(getPage());
 
         // Try to navigate to contact page or form
         try {
@@ -247,24 +252,23 @@ public class EndToEndTest extends BaseTest {
 
             if (contactPage.isContactFormVisible()) {
                 contactPage.sendMessage(name, email, phone, message);
-                page.waitForTimeout(2000);
 
-                // Check for success message
+                // Check for success message (waits until it appears)
                 boolean success = contactPage.isSuccessMessageDisplayed();
                 logger.info("Message sent. Success message displayed: " + success);
 
-                Allure.addAttachment("Message Sent",
+                attachText("Message Sent",
                         "Name: " + name + "\n" +
                                 "Email: " + email + "\n" +
                                 "Phone: " + phone + "\n" +
                                 "Message: " + message);
             } else {
                 logger.warn("Contact form not visible. Message may require authentication or specific page.");
-                Allure.addAttachment("Contact Form", "Form not accessible - may require authentication");
+                attachText("Contact Form", "Form not accessible - may require authentication");
             }
         } catch (Exception e) {
             logger.warn("Could not send message: " + e.getMessage());
-            Allure.addAttachment("Message Status", "Contact form not accessible: " + e.getMessage());
+            attachText("Message Status", "Contact form not accessible: " + e.getMessage());
         }
     }
 
@@ -273,22 +277,17 @@ public class EndToEndTest extends BaseTest {
         logger.info("Step 5: Admin verification");
 
         // Get admin credentials
-        JsonObject adminUser = getAdminUser();
+        TestUser adminUser = getAdminUser();
         Assert.assertNotNull(adminUser, "Admin user data should not be null");
 
-        String adminEmail = adminUser.get("email").getAsString();
-        String adminPassword = adminUser.get("password").getAsString();
+        String adminEmail = adminUser.getEmail();
 
-        // Admin Login
+        // Admin Login (reuses the cached admin session when available)
         logger.info("Admin logging in: " + adminEmail);
-        LoginPage loginPage = new LoginPage(page);
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        loginPage.login(adminEmail, adminPassword);
-
-        page.waitForTimeout(2000);
+        useAuthenticatedSession(adminUser.getUsername());
 
         // Navigate to Admin Dashboard
-        AdminDashboardPage adminDashboard = new AdminDashboardPage(page);
+        AdminDashboardPage adminDashboard = new AdminDashboardPage(getPage());
 
         try {
             adminDashboard.navigateToAdminDashboard(ConfigReader.getBaseUrl());
@@ -298,7 +297,7 @@ public class EndToEndTest extends BaseTest {
 
                 // Go to messages section
                 adminDashboard.goToMessagesSection();
-                page.waitForTimeout(1500);
+                adminDashboard.waitForNetworkIdle();
 
                 // Search for the message
                 adminDashboard.searchMessage(userName);
@@ -308,14 +307,14 @@ public class EndToEndTest extends BaseTest {
 
                 if (messageFound) {
                     logger.info("✓ Message from " + userName + " found in admin portal!");
-                    Allure.addAttachment("Admin Verification",
+                    attachText("Admin Verification",
                             "SUCCESS: Message found\n" +
                                     "From: " + userName + "\n" +
                                     "Content preview: "
                                     + messageContent.substring(0, Math.min(50, messageContent.length())));
                 } else {
                     logger.warn("Message from " + userName + " not found in admin portal");
-                    Allure.addAttachment("Admin Verification",
+                    attachText("Admin Verification",
                             "Message not found - may require different search or page navigation");
                 }
 
@@ -324,11 +323,11 @@ public class EndToEndTest extends BaseTest {
 
             } else {
                 logger.warn("Admin dashboard not accessible");
-                Allure.addAttachment("Admin Access", "Dashboard not accessible - may require specific permissions");
+                attachText("Admin Access", "Dashboard not accessible - may require specific permissions");
             }
         } catch (Exception e) {
             logger.warn("Admin verification error: " + e.getMessage());
-            Allure.addAttachment("Admin Verification", "Error: " + e.getMessage());
+            attachText("Admin Verification", "Error: " + e.getMessage());
         }
     }
 
@@ -343,17 +342,17 @@ public class EndToEndTest extends BaseTest {
         logger.info("Testing user data retrieval");
 
         // Test retrieving different users
-        JsonObject johnDoe = getUserByUsername("johndoe");
+        TestUser johnDoe = getUserByUsername("johndoe");
         Assert.assertNotNull(johnDoe, "John Doe user data should be retrieved");
-        Assert.assertEquals(johnDoe.get("name").getAsString(), "John Doe");
+        Assert.assertEquals(johnDoe.getName(), "John Doe");
 
-        JsonObject alice = getUserByUsername("alicejohnson");
+        TestUser alice = getUserByUsername("alicejohnson");
         Assert.assertNotNull(alice, "Alice Johnson user data should be retrieved");
-        Assert.assertEquals(alice.get("name").getAsString(), "Alice Johnson");
+        Assert.assertEquals(alice.getName(), "Alice Johnson");
 
-        JsonObject admin = getAdminUser();
+        TestUser admin = getAdminUser();
         Assert.assertNotNull(admin, "Admin user data should be retrieved");
-        Assert.assertEquals(admin.get("userType").getAsString(), "adminUser");
+        Assert.assertEquals(admin.getUserType(), "adminUser");
 
         logger.info("All user data retrieved successfully");
     }
@@ -2,9 +2,11 @@ package com.chirangv.tests;
 
 import com.chirangv.base.BaseTest;
 import com.chirangv.pages.HomePage;
+import com.chirangv.pages.ProbeResult;
 import com.chirangv.utils.ConfigReader;
 import io.qameta.allure.*;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -15,11 +17,23 @@ import org.testng.annotations.Test;
 @Feature("Home Page")
 public class HomePageTest extends BaseTest {
 
-    private HomePage homePage;
+    private static final ThreadLocal<HomePage> homePage = new ThreadLocal<>();
 
     @BeforeMethod(alwaysRun = true)
     public void setUpHomePage() {
-        homePage = new HomePage(page);
+        homePage.set(new HomePage(getPage()));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownHomePage() {
+        homePage.remove();
+    }
+
+    /**
+     * Home page object bound to the current thread's page, created once per test method
+     */
+    private HomePage homePage() {
+        return homePage.get();
     }
 
     @Test(priority = 1, description = "Verify Home Page loads successfully")
@@ -29,10 +43,11 @@ public class HomePageTest extends BaseTest {
     public void testHomePageLoads() {
         logger.info("Starting test: Verify Home Page loads successfully");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(homePage.isHeaderVisible(), "Header should be visible");
-        Assert.assertTrue(page.url().contains("chirangv.com"), "URL should contain chirangv.com");
+        Assert.assertTrue(homePage().isHeaderVisible(), "Header should be visible");
+        Assert.assertTrue(getPage().url().startsWith(ConfigReader.getBaseUrl()),
+                "URL should be on " + ConfigReader.getBaseUrl());
 
         logger.info("Home Page loaded successfully");
     }
@@ -44,12 +59,10 @@ public class HomePageTest extends BaseTest {
     public void testAllMainSectionsVisible() {
         logger.info("Starting test: Verify all main sections are visible");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(homePage.isJoinCircleSectionVisible(), "'Join My Circle' section should be visible");
-        Assert.assertTrue(homePage.isAboutMeSectionVisible(), "'About Me' section should be visible");
-        Assert.assertTrue(homePage.isWhoIAmSectionVisible(), "'Who I Am' section should be visible");
-        Assert.assertTrue(homePage.isWhatIDoSectionVisible(), "'What I Do' section should be visible");
+        ProbeResult sections = homePage().probeMainSections();
+        Assert.assertTrue(sections.allVisible(), "All main sections should be visible, missing: " + sections.missing());
 
         logger.info("All main sections are visible");
     }
@@ -61,10 +74,10 @@ public class HomePageTest extends BaseTest {
     public void testNavigationToLoginPage() {
         logger.info("Starting test: Verify navigation to Login page");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
-        homePage.clickLoginLink();
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
+        homePage().clickLoginLink();
 
-        Assert.assertTrue(page.url().contains("/login"), "URL should contain /login");
+        Assert.assertTrue(getPage().url().contains("/login"), "URL should contain /login");
 
         logger.info("Successfully navigated to Login page");
     }
@@ -76,10 +89,10 @@ public class HomePageTest extends BaseTest {
     public void testNavigationToDeveloperPage() {
         logger.info("Starting test: Verify navigation to Developer page");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
-        homePage.clickDeveloperLink();
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
+        homePage().clickDeveloperLink();
 
-        Assert.assertTrue(page.url().contains("/developer"), "URL should contain /developer");
+        Assert.assertTrue(getPage().url().contains("/developer"), "URL should contain /developer");
 
         logger.info("Successfully navigated to Developer page");
     }
@@ -88,8 +101,8 @@ public class HomePageTest extends BaseTest {
     public void testWelcomeMessage() {
         logger.info("Starting test: Verify welcome message");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
-        String welcomeMessage = homePage.getWelcomeMessage();
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
+        String welcomeMessage = homePage().getWelcomeMessage();
 
         Assert.assertTrue(welcomeMessage.contains("Chiran"), "Welcome message should contain 'Chiran'");
 
@@ -100,8 +113,8 @@ public class HomePageTest extends BaseTest {
     public void testPageTitle() {
         logger.info("Starting test: Verify page title");
 
-        homePage.navigateToHome(ConfigReader.getBaseUrl());
-        String pageTitle = homePage.getPageTitle();
+        homePage().navigateToHome(ConfigReader.getBaseUrl());
+        String pageTitle = homePage().getPageTitle();
 
         Assert.assertNotNull(pageTitle, "Page title should not be null");
         Assert.assertFalse(pageTitle.isEmpty(), "Page title should not be empty");
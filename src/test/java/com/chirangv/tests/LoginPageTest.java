@@ -1,11 +1,14 @@
 package com.chirangv.tests;
 
 import com.chirangv.base.BaseTest;
+import com.chirangv.data.LoginCredential;
+import com.chirangv.data.TestDataRepository;
+import com.chirangv.pages.HomePage;
 import com.chirangv.pages.LoginPage;
+import com.chirangv.pages.ProbeResult;
 import com.chirangv.utils.ConfigReader;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -14,23 +17,33 @@ import org.testng.annotations.Test;
  */
 public class LoginPageTest extends BaseTest {
 
-    private LoginPage loginPage;
+    private static final ThreadLocal<LoginPage> loginPage = new ThreadLocal<>();
 
-    @BeforeMethod
-    @Override
-    public void setUp() {
-        super.setUp();
-        loginPage = new LoginPage(page);
+    @BeforeMethod(alwaysRun = true)
+    public void setUpLoginPage() {
+        loginPage.set(new LoginPage(getPage()));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownLoginPage() {
+        loginPage.remove();
+    }
+
+    /**
+     * Login page object for the page owned by this test thread, created once per test method
+     */
+    private LoginPage loginPage() {
+        return loginPage.get();
     }
 
     @Test(priority = 1, description = "Verify Login Page loads successfully")
     public void testLoginPageLoads() {
         logger.info("Starting test: Verify Login Page loads successfully");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login page should be displayed");
-        Assert.assertTrue(page.url().contains("/login"), "URL should contain /login");
+        Assert.assertTrue(loginPage().isLoginPageDisplayed(), "Login page should be displayed");
+        Assert.assertTrue(getPage().url().contains("/login"), "URL should contain /login");
 
         logger.info("Login Page loaded successfully");
     }
@@ -39,12 +52,11 @@ public class LoginPageTest extends BaseTest {
     public void testAllLoginElementsPresent() {
         logger.info("Starting test: Verify all login form elements are present");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(loginPage.isEmailFieldVisible(), "Email field should be visible");
-        Assert.assertTrue(loginPage.isPasswordFieldVisible(), "Password field should be visible");
-        Assert.assertTrue(loginPage.isSignInButtonVisible(), "Sign In button should be visible");
-        Assert.assertTrue(loginPage.isSignUpLinkVisible(), "Sign Up link should be visible");
+        ProbeResult elements = loginPage().probeLoginElements();
+        Assert.assertTrue(elements.allVisible(), "All login form elements should be visible, missing: "
+                + elements.missing());
 
         logger.info("All login form elements are present");
     }
@@ -53,9 +65,9 @@ public class LoginPageTest extends BaseTest {
     public void testGoogleSignInOption() {
         logger.info("Starting test: Verify Google sign-in option is available");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
 
-        Assert.assertTrue(loginPage.isGoogleSignInVisible(), "Google sign-in option should be visible");
+        Assert.assertTrue(loginPage().isGoogleSignInVisible(), "Google sign-in option should be visible");
 
         logger.info("Google sign-in option is available");
     }
@@ -65,27 +77,17 @@ public class LoginPageTest extends BaseTest {
         logger.info("Starting test: Test login with valid credentials");
 
         // Get test data
-        JsonArray loginCredentials = ConfigReader.getTestData().getAsJsonArray("loginCredentials");
-        JsonObject validCredentials = null;
-
-        // Find valid credentials
-        for (int i = 0; i < loginCredentials.size(); i++) {
-            JsonObject cred = loginCredentials.get(i).getAsJsonObject();
-            if ("success".equals(cred.get("expectedResult").getAsString())) {
-                validCredentials = cred;
-                break;
-            }
-        }
+        LoginCredential validCredentials = TestDataRepository.getInstance().getCredential("success");
 
         Assert.assertNotNull(validCredentials, "Valid credentials should be found in test data");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        loginPage.login(
-                validCredentials.get("email").getAsString(),
-                validCredentials.get("password").getAsString());
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().login(
+                validCredentials.getEmail(),
+                validCredentials.getPassword());
 
         // Wait for page to process login
-        page.waitForTimeout(2000);
+        loginPage().waitForNetworkIdle();
 
         logger.info("Login attempted with valid credentials");
     }
@@ -95,23 +97,13 @@ public class LoginPageTest extends BaseTest {
         logger.info("Starting test: Test login with invalid email format");
 
         // Get test data
-        JsonArray loginCredentials = ConfigReader.getTestData().getAsJsonArray("loginCredentials");
-        JsonObject invalidEmailCred = null;
-
-        // Find invalid email credentials
-        for (int i = 0; i < loginCredentials.size(); i++) {
-            JsonObject cred = loginCredentials.get(i).getAsJsonObject();
-            if ("validation_error".equals(cred.get("expectedResult").getAsString())) {
-                invalidEmailCred = cred;
-                break;
-            }
-        }
+        LoginCredential invalidEmailCred = TestDataRepository.getInstance().getCredential("validation_error");
 
         Assert.assertNotNull(invalidEmailCred, "Invalid email credentials should be found in test data");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        loginPage.enterEmail(invalidEmailCred.get("email").getAsString());
-        loginPage.enterPassword(invalidEmailCred.get("password").getAsString());
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().enterEmail(invalidEmailCred.getEmail());
+        loginPage().enterPassword(invalidEmailCred.getPassword());
 
         // Email field should have validation
         logger.info("Tested login with invalid email format");
@@ -122,22 +114,12 @@ public class LoginPageTest extends BaseTest {
         logger.info("Starting test: Test login with empty fields");
 
         // Get test data
-        JsonArray loginCredentials = ConfigReader.getTestData().getAsJsonArray("loginCredentials");
-        JsonObject emptyFieldsCred = null;
-
-        // Find empty fields credentials
-        for (int i = 0; i < loginCredentials.size(); i++) {
-            JsonObject cred = loginCredentials.get(i).getAsJsonObject();
-            if ("empty_fields".equals(cred.get("expectedResult").getAsString())) {
-                emptyFieldsCred = cred;
-                break;
-            }
-        }
+        LoginCredential emptyFieldsCred = TestDataRepository.getInstance().getCredential("empty_fields");
 
         Assert.assertNotNull(emptyFieldsCred, "Empty fields credentials should be found in test data");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        loginPage.clickSignIn();
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
+        loginPage().clickSignIn();
 
         // Form validation should prevent submission
         logger.info("Tested login with empty fields");
@@ -147,14 +129,14 @@ public class LoginPageTest extends BaseTest {
     public void testBackToHomeNavigation() {
         logger.info("Starting test: Verify navigation back to home");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        loginPage.clickBackToHome();
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
+        HomePage homePage = loginPage().clickBackToHome();
 
         // Wait for navigation
-        page.waitForTimeout(1000);
+        homePage.waitUntil("navigation to home page", () -> !getPage().url().contains("/login"), 5000);
 
-        Assert.assertTrue(page.url().equals(ConfigReader.getBaseUrl()) ||
-                page.url().equals(ConfigReader.getBaseUrl() + "/"),
+        Assert.assertTrue(getPage().url().equals(ConfigReader.getBaseUrl()) ||
+                getPage().url().equals(ConfigReader.getBaseUrl() + "/"),
                 "Should navigate back to home page");
 
         logger.info("Successfully navigated back to home");
@@ -164,8 +146,8 @@ public class LoginPageTest extends BaseTest {
     public void testLoginPageTitle() {
         logger.info("Starting test: Verify login page title");
 
-        loginPage.navigateToLogin(ConfigReader.getBaseUrl());
-        String pageTitle = loginPage.getPageTitle();
+        loginPage().navigateToLogin(ConfigReader.getBaseUrl());
+        String pageTitle = loginPage().getPageTitle();
 
         Assert.assertNotNull(pageTitle, "Page title should not be null");
 